@@ -0,0 +1,67 @@
+package com.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Window resolution for a whole roster: what the scheduler asks of every bot when it plans logins and window ends.
+ * Pure Java, so it runs without the game class loader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ActiveWindowBenchmark {
+	@Param({"10", "1000", "10000", "50000"})
+	public int bots;
+
+	private ActiveWindowIndex[] windows;
+	private int minute;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(42);
+		windows = new ActiveWindowIndex[bots];
+		int[] starts = new int[3];
+		int[] ends = new int[3];
+		for (int bot = 0; bot < bots; bot++) {
+			int count = 1 + random.nextInt(3);
+			for (int i = 0; i < count; i++) {
+				starts[i] = random.nextInt(ActiveWindowIndex.MINUTES_PER_DAY);
+				ends[i] = random.nextInt(ActiveWindowIndex.MINUTES_PER_DAY);
+			}
+			windows[bot] = ActiveWindowIndex.compile(starts, ends, count);
+		}
+	}
+
+	@Benchmark
+	public void windowEnd(Blackhole blackhole) {
+		int at = nextMinute();
+		for (ActiveWindowIndex index : windows) {
+			blackhole.consume(index.windowEnd(at));
+		}
+	}
+
+	@Benchmark
+	public void minutesUntilOpen(Blackhole blackhole) {
+		int at = nextMinute();
+		for (ActiveWindowIndex index : windows) {
+			blackhole.consume(index.minutesUntilOpen(at));
+		}
+	}
+
+	private int nextMinute() {
+		minute = (minute + 7) % ActiveWindowIndex.MINUTES_PER_DAY;
+		return minute;
+	}
+}
@@ -0,0 +1,66 @@
+package com.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Read paths over the online roster that do not depend on how many viewers there are: the server-list status and the
+ * tab entry list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FakeRosterBenchmark {
+	@Param({"10", "1000", "10000", "50000"})
+	public int bots;
+
+	private Object harness;
+	private Supplier<Object> withFakePlayers;
+	private Supplier<Object> withFakePlayersRebuild;
+	private Supplier<Object> activeTabEntries;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		harness = GameClassLoader.harness(bots, 1);
+		withFakePlayers = GameClassLoader.operation(harness, "withFakePlayers");
+		withFakePlayersRebuild = GameClassLoader.operation(harness, "withFakePlayersRebuild");
+		activeTabEntries = GameClassLoader.operation(harness, "activeTabEntries");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		GameClassLoader.close(harness);
+	}
+
+	/**
+	 * A status ping with nothing changed since the last one.
+	 */
+	@Benchmark
+	public Object withFakePlayers() {
+		return withFakePlayers.get();
+	}
+
+	/**
+	 * A status ping that has to merge a new status.
+	 */
+	@Benchmark
+	public Object withFakePlayersRebuild() {
+		return withFakePlayersRebuild.get();
+	}
+
+	@Benchmark
+	public Object getActiveTabEntries() {
+		return activeTabEntries.get();
+	}
+}
@@ -0,0 +1,69 @@
+package com.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Per-tick and tab-list costs as the roster and the number of real viewers grow. All bots are online; see
+ * {@code ServerHarness} for the stand-in server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FakeTabBenchmark {
+	@Param({"10", "1000", "10000", "50000"})
+	public int bots;
+
+	@Param({"1", "50", "500"})
+	public int viewers;
+
+	private Object harness;
+	private Supplier<Object> tick;
+	private Supplier<Object> massTransition;
+	private Supplier<Object> refreshTabList;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		harness = GameClassLoader.harness(bots, viewers);
+		tick = GameClassLoader.operation(harness, "tick");
+		massTransition = GameClassLoader.operation(harness, "massTransition");
+		refreshTabList = GameClassLoader.operation(harness, "refreshTabList");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		GameClassLoader.close(harness);
+	}
+
+	/**
+	 * A tick with nothing due: the steady-state cost paid 20 times a second.
+	 */
+	@Benchmark
+	public Object tick() {
+		return tick.get();
+	}
+
+	/**
+	 * Every bot goes offline and back online, flushed to every viewer each time.
+	 */
+	@Benchmark
+	public Object massTransition() {
+		return massTransition.get();
+	}
+
+	@Benchmark
+	public Object refreshTabListForAllRealPlayers() {
+		return refreshTabList.get();
+	}
+}
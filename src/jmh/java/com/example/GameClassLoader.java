@@ -0,0 +1,66 @@
+package com.example;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.loader.impl.launch.knot.Knot;
+
+import java.util.function.Supplier;
+
+/**
+ * Starts Fabric's Knot class loader once per benchmark JVM, the same way Fabric's JUnit support does.
+ * <p>
+ * Classes loaded through it get the mod's mixins (the accessors the tab and packet code cast to), which the plain
+ * application class loader JMH uses would not apply. Benchmarks therefore build their fixture inside this loader and
+ * only hold on to {@link Supplier} handles, since {@code java.*} types are shared between the two loaders.
+ */
+final class GameClassLoader {
+	private static final String HARNESS = "com.example.ServerHarness";
+
+	private static ClassLoader loader;
+
+	private GameClassLoader() {}
+
+	static synchronized ClassLoader get() {
+		if (loader == null) {
+			Thread thread = Thread.currentThread();
+			ClassLoader previous = thread.getContextClassLoader();
+			try {
+				loader = new Knot(EnvType.SERVER).init(new String[0]);
+			} finally {
+				thread.setContextClassLoader(previous);
+			}
+		}
+		return loader;
+	}
+
+	@SuppressWarnings("unchecked")
+	static Supplier<Object> operation(Object harness, String name) {
+		try {
+			return (Supplier<Object>) harness.getClass().getMethod("operation", String.class).invoke(harness, name);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("No harness operation " + name, e);
+		}
+	}
+
+	/**
+	 * Build a {@code ServerHarness} inside the game loader.
+	 */
+	static Object harness(int bots, int viewers) {
+		try {
+			// By name: touching ServerHarness here would load it, and the game classes it uses, without mixins.
+			Class<?> type = Class.forName(HARNESS, true, get());
+			return type.getConstructor(int.class, int.class).newInstance(bots, viewers);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Failed to build benchmark server", e);
+		}
+	}
+
+	static void close(Object harness) {
+		if (harness instanceof AutoCloseable closeable) {
+			try {
+				closeable.close();
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+}
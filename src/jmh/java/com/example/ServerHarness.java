@@ -0,0 +1,214 @@
+package com.example;
+
+import com.mojang.authlib.GameProfile;
+import io.netty.channel.embedded.EmbeddedChannel;
+import net.minecraft.SharedConstants;
+import net.minecraft.network.Connection;
+import net.minecraft.network.HandlerNames;
+import net.minecraft.network.PacketEncoder;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.game.GameProtocols;
+import net.minecraft.network.protocol.status.ServerStatus;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.RegistryLayer;
+import net.minecraft.server.dedicated.DedicatedPlayerList;
+import net.minecraft.server.dedicated.DedicatedServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.network.ServerCommonPacketListenerImpl;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
+import net.minecraft.server.players.PlayerList;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.ChatVisiblity;
+import net.minecraft.world.entity.player.Player;
+import sun.misc.Unsafe;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * A bot roster and a set of real viewers around stand-in server objects, loaded inside {@link GameClassLoader}.
+ * <p>
+ * The server, player list, players and connections are real game classes allocated without running their
+ * constructors, with just the fields the mod touches filled in. Each viewer's connection writes into an
+ * {@link EmbeddedChannel} behind a clientbound play encoder, so shared packets still go out as pre-encoded bytes and
+ * per-viewer sends are encoded on their own; the channels are drained after every operation. Viewers hide chat, so
+ * announcements cost their formatting and console line but no per-viewer packet.
+ */
+public final class ServerHarness implements AutoCloseable {
+	private static final Unsafe UNSAFE = unsafe();
+
+	static {
+		SharedConstants.tryDetectVersion();
+		Bootstrap.bootStrap();
+	}
+
+	private final MinecraftServer server;
+	private final PlayerList playerList;
+	private final List<EmbeddedChannel> channels = new ArrayList<>();
+	private final FakePlayerScheduler scheduler = ExampleMod.SCHEDULER;
+	private final ServerStatus status = status("A Minecraft Server");
+	private final ServerStatus otherStatus = status("Another Minecraft Server");
+	private boolean flip;
+
+	public ServerHarness(int bots, int viewers) throws IOException {
+		server = allocate(DedicatedServer.class);
+		playerList = allocate(DedicatedPlayerList.class);
+		List<ServerPlayer> players = new ArrayList<>(viewers);
+		Map<UUID, ServerPlayer> byUuid = new HashMap<>();
+		set(PlayerList.class, playerList, "players", players);
+		set(PlayerList.class, playerList, "playersByUUID", byUuid);
+		set(PlayerList.class, playerList, "maxPlayers", viewers + bots);
+		set(PlayerList.class, playerList, "server", server);
+		set(MinecraftServer.class, server, "playerList", playerList);
+		set(MinecraftServer.class, server, "registries", RegistryLayer.createRegistryAccess());
+
+		for (int i = 0; i < viewers; i++) {
+			ServerPlayer viewer = viewer(new GameProfile(UUID.nameUUIDFromBytes(("viewer" + i).getBytes()), "Viewer" + i));
+			players.add(viewer);
+			byUuid.put(viewer.getUUID(), viewer);
+		}
+
+		scheduler.applyRoster(server, RosterLoader.read(new StringReader(rosterJson(bots))));
+		scheduler.forceOnlineAll();
+		for (ServerPlayer viewer : players) {
+			scheduler.handleRealPlayerJoin(viewer);
+		}
+		scheduler.tick(server);
+		drain();
+	}
+
+	/**
+	 * One benchmarked operation; whatever it returns should go to a blackhole.
+	 */
+	public Supplier<Object> operation(String name) {
+		return switch (name) {
+			case "tick" -> () -> {
+				scheduler.tick(server);
+				return drain();
+			};
+			case "massTransition" -> () -> {
+				// Every bot leaves and comes back: two full deltas to every viewer.
+				scheduler.resumeSchedule();
+				scheduler.tick(server);
+				scheduler.forceOnlineAll();
+				scheduler.tick(server);
+				return drain();
+			};
+			case "refreshTabList" -> () -> {
+				ExampleMod.refreshTabListForAllRealPlayers(server);
+				return drain();
+			};
+			case "withFakePlayers" -> () -> ExampleMod.withFakePlayers(status, playerList);
+			case "withFakePlayersRebuild" -> () -> {
+				// A changed description misses the cache, so every call merges a fresh status.
+				flip = !flip;
+				return ExampleMod.withFakePlayers(flip ? status : otherStatus, playerList);
+			};
+			case "activeTabEntries" -> ExampleMod::getFakeTabEntries;
+			default -> throw new IllegalArgumentException("Unknown operation " + name);
+		};
+	}
+
+	@Override
+	public void close() {
+		scheduler.shutdown();
+		drain();
+		for (EmbeddedChannel channel : channels) {
+			channel.finishAndReleaseAll();
+		}
+	}
+
+	private int drain() {
+		int drained = 0;
+		for (EmbeddedChannel channel : channels) {
+			drained += channel.outboundMessages().size();
+			channel.releaseOutbound();
+		}
+		return drained;
+	}
+
+	private ServerPlayer viewer(GameProfile profile) {
+		EmbeddedChannel channel = new EmbeddedChannel();
+		channel.pipeline().addLast(HandlerNames.ENCODER, new PacketEncoder<>(
+			GameProtocols.CLIENTBOUND_TEMPLATE.bind(RegistryFriendlyByteBuf.decorator(server.registryAccess()))
+		));
+		channels.add(channel);
+		Connection connection = allocate(Connection.class);
+		set(Connection.class, connection, "channel", channel);
+		set(Connection.class, connection, "pendingActions", new ConcurrentLinkedQueue<>());
+
+		ServerPlayer player = allocate(ServerPlayer.class);
+		set(Entity.class, player, "uuid", profile.id());
+		set(Entity.class, player, "stringUUID", profile.id().toString());
+		set(Player.class, player, "gameProfile", profile);
+		set(ServerPlayer.class, player, "chatVisibility", ChatVisiblity.HIDDEN);
+
+		ServerGamePacketListenerImpl listener = allocate(ServerGamePacketListenerImpl.class);
+		set(ServerCommonPacketListenerImpl.class, listener, "connection", connection);
+		set(ServerCommonPacketListenerImpl.class, listener, "server", server);
+		set(ServerGamePacketListenerImpl.class, listener, "player", player);
+		set(Connection.class, connection, "packetListener", listener);
+		player.connection = listener;
+		return player;
+	}
+
+	/**
+	 * Bots that are active all day, without skins to fetch.
+	 */
+	private static String rosterJson(int bots) {
+		StringBuilder json = new StringBuilder(bots * 96);
+		json.append("{\"global\":{\"enabled\":true},\"bots\":[");
+		for (int i = 0; i < bots; i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append("{\"name\":\"Bot").append(i)
+				.append("\",\"activeWindows\":[{\"startTime\":\"00:00\",\"endTime\":\"00:00\"}]}");
+		}
+		return json.append("]}").toString();
+	}
+
+	private static ServerStatus status(String motd) {
+		return new ServerStatus(Component.literal(motd), Optional.empty(), Optional.empty(), Optional.empty(), false);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T allocate(Class<T> type) {
+		try {
+			return (T) UNSAFE.allocateInstance(type);
+		} catch (InstantiationException e) {
+			throw new IllegalStateException("Cannot allocate " + type.getName(), e);
+		}
+	}
+
+	private static void set(Class<?> owner, Object target, String name, Object value) {
+		try {
+			Field field = owner.getDeclaredField(name);
+			field.setAccessible(true);
+			field.set(target, value);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot set " + owner.getSimpleName() + "." + name, e);
+		}
+	}
+
+	private static Unsafe unsafe() {
+		try {
+			Field field = Unsafe.class.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			return (Unsafe) field.get(null);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package com.example;
+
+import java.util.Arrays;
+
+/**
+ * Compiled form of a bot's active windows in minute-of-day resolution.
+ * <p>
+ * Windows are folded into a 1440-bit bitmap at config load and then re-read as sorted, merged, end-exclusive
+ * intervals. "Is the bot inside a window" is a bit test, "when does this window end / next one start" is a binary
+ * search; neither allocates. Overnight windows ({@code end <= start}) wrap past midnight, so a run ending at 1440
+ * continues into a run starting at 0.
+ */
+final class ActiveWindowIndex {
+	static final int MINUTES_PER_DAY = 24 * 60;
+	static final int BITMAP_WORDS = (MINUTES_PER_DAY + 63) >>> 6;
+	// windowEnd of an index that covers every minute: the window never closes.
+	static final int NO_END = Integer.MAX_VALUE;
+
+	private final long[] bitmap;
+	private final int[] starts;
+	private final int[] ends;
+
+	private ActiveWindowIndex(long[] bitmap, int[] starts, int[] ends) {
+		this.bitmap = bitmap;
+		this.starts = starts;
+		this.ends = ends;
+	}
+
+	/**
+	 * Compile windows given as parallel minute-of-day arrays.
+	 *
+	 * @param windowStarts inclusive start minute per window
+	 * @param windowEnds   exclusive end minute per window; {@code <= start} means the window runs overnight
+	 * @param count        number of windows to read
+	 */
+	static ActiveWindowIndex compile(int[] windowStarts, int[] windowEnds, int count) {
+		long[] bitmap = new long[BITMAP_WORDS];
+		for (int i = 0; i < count; i++) {
+			int start = windowStarts[i];
+			int end = windowEnds[i];
+			if (end > start) {
+				setRange(bitmap, start, end);
+			} else {
+				setRange(bitmap, start, MINUTES_PER_DAY);
+				setRange(bitmap, 0, end);
+			}
+		}
+		return fromBitmap(bitmap);
+	}
+
+	/**
+	 * Rebuild an index from a bitmap previously taken from {@link #bitmapWord}. The array is kept, not copied.
+	 */
+	static ActiveWindowIndex fromBitmap(long[] bitmap) {
+		if (bitmap.length != BITMAP_WORDS) {
+			throw new IllegalArgumentException("Expected " + BITMAP_WORDS + " bitmap words, got " + bitmap.length);
+		}
+		// Walk runs a word at a time; a roster snapshot rebuilds thousands of these at startup.
+		int runs = 0;
+		for (int minute = nextMinute(bitmap, 0, true); minute < MINUTES_PER_DAY; ) {
+			minute = nextMinute(bitmap, nextMinute(bitmap, minute, false), true);
+			runs++;
+		}
+		int[] starts = new int[runs];
+		int[] ends = new int[runs];
+		int run = 0;
+		for (int minute = nextMinute(bitmap, 0, true); minute < MINUTES_PER_DAY; run++) {
+			starts[run] = minute;
+			ends[run] = nextMinute(bitmap, minute, false);
+			minute = nextMinute(bitmap, ends[run], true);
+		}
+		return new ActiveWindowIndex(bitmap, starts, ends);
+	}
+
+	/**
+	 * One 64-minute word of the bitmap, for serialization.
+	 */
+	long bitmapWord(int word) {
+		return bitmap[word];
+	}
+
+	boolean isEmpty() {
+		return starts.length == 0;
+	}
+
+	boolean isActive(int minuteOfDay) {
+		return test(bitmap, minuteOfDay);
+	}
+
+	/**
+	 * End of the window containing {@code minuteOfDay}, measured from today's midnight (so it may exceed 1440 for
+	 * a window running past midnight), -1 when no window is open, or {@link #NO_END} when the windows cover the whole
+	 * day.
+	 */
+	int windowEnd(int minuteOfDay) {
+		int run = runAtOrBefore(minuteOfDay);
+		if (run < 0 || minuteOfDay >= ends[run]) {
+			return -1;
+		}
+		int end = ends[run];
+		if (end == MINUTES_PER_DAY && starts[0] == 0 && ends[0] == MINUTES_PER_DAY) {
+			return NO_END;
+		}
+		if (end == MINUTES_PER_DAY && starts.length > 1 && starts[0] == 0) {
+			end += ends[0];
+		}
+		return end;
+	}
+
+	/**
+	 * Minutes from the start of {@code minuteOfDay} until a window is open: 0 when one already is, -1 when the index
+	 * is empty.
+	 */
+	int minutesUntilOpen(int minuteOfDay) {
+		if (starts.length == 0) {
+			return -1;
+		}
+		if (isActive(minuteOfDay)) {
+			return 0;
+		}
+		int next = runAtOrBefore(minuteOfDay) + 1;
+		if (next < starts.length) {
+			return starts[next] - minuteOfDay;
+		}
+		return starts[0] + MINUTES_PER_DAY - minuteOfDay;
+	}
+
+	private int runAtOrBefore(int minuteOfDay) {
+		int low = 0;
+		int high = starts.length - 1;
+		int found = -1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (starts[mid] <= minuteOfDay) {
+				found = mid;
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Two indexes are equal when they cover the same minutes, however the windows were written.
+	 */
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof ActiveWindowIndex index && Arrays.equals(bitmap, index.bitmap);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(bitmap);
+	}
+
+	private static boolean test(long[] bitmap, int minute) {
+		return (bitmap[minute >>> 6] & (1L << minute)) != 0;
+	}
+
+	/**
+	 * First minute at or after {@code from} whose bit equals {@code set}, or {@link #MINUTES_PER_DAY}.
+	 */
+	private static int nextMinute(long[] bitmap, int from, boolean set) {
+		if (from >= MINUTES_PER_DAY) {
+			return MINUTES_PER_DAY;
+		}
+		int word = from >>> 6;
+		long bits = (set ? bitmap[word] : ~bitmap[word]) & (-1L << from);
+		while (bits == 0) {
+			if (++word == bitmap.length) {
+				return MINUTES_PER_DAY;
+			}
+			bits = set ? bitmap[word] : ~bitmap[word];
+		}
+		return Math.min(MINUTES_PER_DAY, (word << 6) + Long.numberOfTrailingZeros(bits));
+	}
+
+	private static void setRange(long[] bitmap, int from, int to) {
+		for (int minute = from; minute < to; minute++) {
+			bitmap[minute >>> 6] |= 1L << minute;
+		}
+	}
+}
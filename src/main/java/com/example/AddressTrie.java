@@ -0,0 +1,167 @@
+package com.example;
+
+import com.google.common.net.InetAddresses;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.function.Predicate;
+
+/**
+ * Immutable binary prefix trie of banned address ranges, IPv4 and IPv6 alike.
+ * <p>
+ * Every address is widened to 128 bits (IPv4 as {@code ::ffff:a.b.c.d}), so one trie answers both families and a
+ * lookup follows at most 128 child links no matter how many ranges are banned. Updates copy only the path they touch,
+ * which lets login threads keep reading a published trie while the server thread builds the next one. Each terminal
+ * node carries its range's ban key so the caller can confirm that ban is still live.
+ */
+final class AddressTrie {
+	static final AddressTrie EMPTY = new AddressTrie(null, 0);
+
+	private static final int BITS = 128;
+	private static final int IPV4_OFFSET = 96;
+
+	private final Node root;
+	private final int size;
+
+	private AddressTrie(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	AddressTrie with(Range range) {
+		boolean[] grew = new boolean[1];
+		Node next = insert(root, range.address(), range.bits(), 0, range.key(), grew);
+		return new AddressTrie(next, grew[0] ? size + 1 : size);
+	}
+
+	AddressTrie without(Range range) {
+		boolean[] shrank = new boolean[1];
+		Node next = delete(root, range.address(), range.bits(), 0, shrank);
+		return shrank[0] ? new AddressTrie(next, size - 1) : this;
+	}
+
+	/**
+	 * True if some range covering {@code address} has a key {@code live} accepts; ranges are tried shortest first.
+	 */
+	boolean matches(InetAddress address, Predicate<String> live) {
+		if (size == 0) {
+			return false;
+		}
+		byte[] bits = widen(address);
+		Node node = root;
+		for (int depth = 0; node != null; depth++) {
+			if (node.key != null && live.test(node.key)) {
+				return true;
+			}
+			if (depth == BITS) {
+				break;
+			}
+			node = bit(bits, depth) ? node.one : node.zero;
+		}
+		return false;
+	}
+
+	private static Node insert(Node node, byte[] address, int length, int depth, String key, boolean[] grew) {
+		Node copy = node == null ? new Node(null, null, null) : node;
+		if (depth == length) {
+			grew[0] = copy.key == null;
+			return new Node(copy.zero, copy.one, key);
+		}
+		if (bit(address, depth)) {
+			return new Node(copy.zero, insert(copy.one, address, length, depth + 1, key, grew), copy.key);
+		}
+		return new Node(insert(copy.zero, address, length, depth + 1, key, grew), copy.one, copy.key);
+	}
+
+	private static Node delete(Node node, byte[] address, int length, int depth, boolean[] shrank) {
+		if (node == null) {
+			return null;
+		}
+		Node next;
+		if (depth == length) {
+			if (node.key == null) {
+				return node;
+			}
+			shrank[0] = true;
+			next = new Node(node.zero, node.one, null);
+		} else if (bit(address, depth)) {
+			next = new Node(node.zero, delete(node.one, address, length, depth + 1, shrank), node.key);
+		} else {
+			next = new Node(delete(node.zero, address, length, depth + 1, shrank), node.one, node.key);
+		}
+		// Prune branches that no longer lead to a range.
+		return next.zero == null && next.one == null && next.key == null ? null : next;
+	}
+
+	private static boolean bit(byte[] address, int index) {
+		return (address[index >>> 3] & (0x80 >>> (index & 7))) != 0;
+	}
+
+	private static byte[] widen(InetAddress address) {
+		byte[] raw = address.getAddress();
+		if (raw.length == 16) {
+			return raw;
+		}
+		byte[] wide = new byte[16];
+		wide[10] = (byte) 0xff;
+		wide[11] = (byte) 0xff;
+		System.arraycopy(raw, 0, wide, 12, 4);
+		return wide;
+	}
+
+	/**
+	 * A banned address range: the widened network address, its prefix length in the 128-bit space, and its canonical
+	 * ban key such as {@code 203.0.113.0/24} or {@code 2001:db8::/32}.
+	 */
+	record Range(byte[] address, int bits, String key) {
+		/**
+		 * Parse an address literal with an optional {@code /prefix}; host bits are cleared. Returns null for anything
+		 * that is not a literal, so this never triggers a DNS lookup.
+		 */
+		static Range parse(String raw) {
+			int slash = raw.indexOf('/');
+			String host = slash < 0 ? raw : raw.substring(0, slash);
+			if (!InetAddresses.isInetAddress(host)) {
+				return null;
+			}
+			// Mapped IPv6 forms such as ::ffff:192.0.2.1 already come back as IPv4.
+			InetAddress parsed = InetAddresses.forString(host);
+			boolean v4 = parsed instanceof Inet4Address;
+			int max = v4 ? 32 : BITS;
+			int prefix = max;
+			if (slash >= 0) {
+				try {
+					prefix = Integer.parseInt(raw.substring(slash + 1));
+				} catch (NumberFormatException e) {
+					return null;
+				}
+				if (prefix < 0 || prefix > max) {
+					return null;
+				}
+			}
+			byte[] network = parsed.getAddress();
+			for (int index = prefix; index < max; index++) {
+				network[index >>> 3] &= (byte) ~(0x80 >>> (index & 7));
+			}
+			InetAddress masked;
+			try {
+				masked = InetAddress.getByAddress(network);
+			} catch (UnknownHostException e) {
+				return null;
+			}
+			return new Range(widen(masked), v4 ? IPV4_OFFSET + prefix : prefix, InetAddresses.toAddrString(masked) + "/" + prefix);
+		}
+	}
+
+	private record Node(Node zero, Node one, String key) {
+	}
+}
@@ -0,0 +1,58 @@
+package com.example;
+
+/**
+ * Fixed-size bloom filter over byte strings, sized for about a 1% false-positive rate.
+ * <p>
+ * Positions come from double hashing one 64-bit hash, so a lookup hashes the key once and then only touches
+ * {@link #HASHES} bits. Not thread-safe while being filled; treat it as immutable once published.
+ */
+final class BloomFilter {
+	private static final int HASHES = 7;
+	private static final int BITS_PER_ENTRY = 10;
+
+	private final long[] bits;
+	private final long bitCount;
+
+	BloomFilter(int expectedEntries) {
+		long wanted = Math.max(64L, (long) Math.max(1, expectedEntries) * BITS_PER_ENTRY);
+		this.bits = new long[Math.toIntExact((wanted + 63) >>> 6)];
+		this.bitCount = (long) bits.length << 6;
+	}
+
+	void add(byte[] key, int offset, int length) {
+		long hash = hash(key, offset, length);
+		long step = (hash >>> 32) | 1L;
+		for (int i = 0; i < HASHES; i++) {
+			long bit = Long.remainderUnsigned(hash + i * step, bitCount);
+			bits[(int) (bit >>> 6)] |= 1L << bit;
+		}
+	}
+
+	/**
+	 * False means definitely absent; true means possibly present.
+	 */
+	boolean mightContain(byte[] key) {
+		long hash = hash(key, 0, key.length);
+		long step = (hash >>> 32) | 1L;
+		for (int i = 0; i < HASHES; i++) {
+			long bit = Long.remainderUnsigned(hash + i * step, bitCount);
+			if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * FNV-1a over the bytes, then a SplitMix64 finalizer so both halves are well mixed.
+	 */
+	private static long hash(byte[] key, int offset, int length) {
+		long h = 0xcbf29ce484222325L;
+		for (int i = offset; i < offset + length; i++) {
+			h = (h ^ (key[i] & 0xff)) * 0x100000001b3L;
+		}
+		h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+		h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+		return h ^ (h >>> 31);
+	}
+}
@@ -0,0 +1,154 @@
+package com.example;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Binary min-heap of pending fake chat lines keyed by delivery time.
+ * <p>
+ * Lines due at the same millisecond come out in the order they were queued. The tick only looks at the head, so an
+ * idle queue costs one comparison, and draining touches just the lines that are due.
+ */
+final class ChatQueue {
+	private long[] times = new long[16];
+	private long[] sequences = new long[16];
+	private int[] speakers = new int[16];
+	private String[] messages = new String[16];
+	private int size;
+	private long nextSequence;
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	void clear() {
+		Arrays.fill(messages, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * Delivery time of the earliest line, or {@link Long#MAX_VALUE} when empty.
+	 */
+	long peekTime() {
+		return size == 0 ? Long.MAX_VALUE : times[0];
+	}
+
+	/**
+	 * Speaker slot of the earliest line. Only valid when not empty.
+	 */
+	int peekSpeaker() {
+		return speakers[0];
+	}
+
+	/**
+	 * Message of the earliest line. Only valid when not empty.
+	 */
+	String peekMessage() {
+		return messages[0];
+	}
+
+	void push(long when, int speaker, String message) {
+		if (size == times.length) {
+			int capacity = size * 2;
+			times = Arrays.copyOf(times, capacity);
+			sequences = Arrays.copyOf(sequences, capacity);
+			speakers = Arrays.copyOf(speakers, capacity);
+			messages = Arrays.copyOf(messages, capacity);
+		}
+		int index = size++;
+		set(index, when, nextSequence++, speaker, message);
+		siftUp(index);
+	}
+
+	/**
+	 * Drop the earliest line.
+	 */
+	void poll() {
+		int last = --size;
+		if (last > 0) {
+			move(last, 0);
+			siftDown(0);
+		}
+		messages[last] = null;
+	}
+
+	/**
+	 * Drop every line spoken by one of {@code slots}, e.g. before those slots are reused for other bots.
+	 */
+	void removeSpeakers(BitSet slots) {
+		int kept = 0;
+		for (int i = 0; i < size; i++) {
+			if (!slots.get(speakers[i])) {
+				move(i, kept++);
+			}
+		}
+		if (kept == size) {
+			return;
+		}
+		Arrays.fill(messages, kept, size, null);
+		size = kept;
+		for (int i = (size >>> 1) - 1; i >= 0; i--) {
+			siftDown(i);
+		}
+	}
+
+	private void siftUp(int index) {
+		long when = times[index];
+		long sequence = sequences[index];
+		int speaker = speakers[index];
+		String message = messages[index];
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			if (!before(when, sequence, parent)) {
+				break;
+			}
+			move(parent, index);
+			index = parent;
+		}
+		set(index, when, sequence, speaker, message);
+	}
+
+	private void siftDown(int index) {
+		long when = times[index];
+		long sequence = sequences[index];
+		int speaker = speakers[index];
+		String message = messages[index];
+		int half = size >>> 1;
+		while (index < half) {
+			int child = 2 * index + 1;
+			int right = child + 1;
+			if (right < size && before(times[right], sequences[right], child)) {
+				child = right;
+			}
+			if (!earlier(times[child], sequences[child], when, sequence)) {
+				break;
+			}
+			move(child, index);
+			index = child;
+		}
+		set(index, when, sequence, speaker, message);
+	}
+
+	private boolean before(long when, long sequence, int other) {
+		return earlier(when, sequence, times[other], sequences[other]);
+	}
+
+	private static boolean earlier(long when, long sequence, long otherWhen, long otherSequence) {
+		return when < otherWhen || (when == otherWhen && sequence < otherSequence);
+	}
+
+	private void move(int from, int to) {
+		set(to, times[from], sequences[from], speakers[from], messages[from]);
+	}
+
+	private void set(int index, long when, long sequence, int speaker, String message) {
+		times[index] = when;
+		sequences[index] = sequence;
+		speakers[index] = speaker;
+		messages[index] = message;
+	}
+}
@@ -0,0 +1,26 @@
+package com.example;
+
+import net.minecraft.server.players.NameAndId;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A bot definition after parsing and validation: identity, compiled windows and where its skin comes from.
+ * <p>
+ * Config reloads compare these by UUID against what each slot was built from, so a bot is only touched when something
+ * that affects it actually changed.
+ *
+ * @param skinUuid         session-server profile to fetch textures from, or null
+ * @param explicitTextures textures given inline in the config; wins over {@code skinUuid}
+ */
+record CompiledBot(NameAndId id, ActiveWindowIndex windows, UUID skinUuid, SkinTextures explicitTextures) {
+	/**
+	 * True when both definitions produce the same tab entry.
+	 */
+	boolean sameProfile(CompiledBot other) {
+		return id.name().equals(other.id.name())
+			&& Objects.equals(skinUuid, other.skinUuid)
+			&& Objects.equals(explicitTextures, other.explicitTextures);
+	}
+}
@@ -0,0 +1,115 @@
+package com.example;
+
+import java.util.Arrays;
+
+/**
+ * Primitive binary min-heap of (epoch millis, slot, kind) deadlines.
+ * <p>
+ * Slot and kind are packed into one int so pushing and polling never box or allocate once the backing arrays have
+ * grown to the roster's working size.
+ */
+final class DeadlineQueue {
+	private static final int KIND_BITS = 3;
+	private static final int KIND_MASK = (1 << KIND_BITS) - 1;
+
+	private long[] times = new long[64];
+	private int[] payloads = new int[64];
+	private int size;
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Time of the earliest deadline, or {@link Long#MAX_VALUE} when empty.
+	 */
+	long peekTime() {
+		return size == 0 ? Long.MAX_VALUE : times[0];
+	}
+
+	void push(long when, int slot, int kind) {
+		if (size == times.length) {
+			times = Arrays.copyOf(times, size * 2);
+			payloads = Arrays.copyOf(payloads, size * 2);
+		}
+		int payload = (slot << KIND_BITS) | kind;
+		int child = size++;
+		while (child > 0) {
+			int parent = (child - 1) >>> 1;
+			if (times[parent] <= when) {
+				break;
+			}
+			times[child] = times[parent];
+			payloads[child] = payloads[parent];
+			child = parent;
+		}
+		times[child] = when;
+		payloads[child] = payload;
+	}
+
+	/**
+	 * Remove the earliest deadline and return its packed payload; decode with {@link #slotOf} and {@link #kindOf}.
+	 */
+	int poll() {
+		int top = payloads[0];
+		int last = --size;
+		if (last > 0) {
+			siftDown(0, times[last], payloads[last], last);
+		}
+		return top;
+	}
+
+	private void siftDown(int parent, long when, int payload, int limit) {
+		int half = limit >>> 1;
+		while (parent < half) {
+			int child = 2 * parent + 1;
+			int right = child + 1;
+			if (right < limit && times[right] < times[child]) {
+				child = right;
+			}
+			if (when <= times[child]) {
+				break;
+			}
+			times[parent] = times[child];
+			payloads[parent] = payloads[child];
+			parent = child;
+		}
+		times[parent] = when;
+		payloads[parent] = payload;
+	}
+
+	/**
+	 * Drop every deadline whose kind is set in {@code kindMask} (bit {@code 1 << kind}) and restore the heap, in
+	 * linear time.
+	 */
+	void removeKinds(int kindMask) {
+		int kept = 0;
+		for (int i = 0; i < size; i++) {
+			if ((kindMask & (1 << kindOf(payloads[i]))) == 0) {
+				times[kept] = times[i];
+				payloads[kept] = payloads[i];
+				kept++;
+			}
+		}
+		size = kept;
+		for (int parent = (size >>> 1) - 1; parent >= 0; parent--) {
+			siftDown(parent, times[parent], payloads[parent], size);
+		}
+	}
+
+	static int slotOf(int payload) {
+		return payload >>> KIND_BITS;
+	}
+
+	static int kindOf(int payload) {
+		return payload & KIND_MASK;
+	}
+}
@@ -0,0 +1,99 @@
+package com.example;
+
+import java.util.Arrays;
+
+/**
+ * Hashed timing wheel of (key, expiry) pairs with one-second buckets.
+ * <p>
+ * Adding is O(1) and advancing only visits the buckets whose second has passed, so thousands of pending expiries cost
+ * nothing between the moments they lapse. Expiries further out than one turn of the wheel simply stay in their bucket
+ * for extra turns. Entries are never removed early; the consumer checks that an entry is still current, as the
+ * scheduler does for its deadlines.
+ */
+final class ExpiryWheel {
+	private static final long BUCKET_MILLIS = 1000L;
+	private static final int BUCKETS = 512;
+	private static final int MASK = BUCKETS - 1;
+
+	private final String[][] keys = new String[BUCKETS][];
+	private final long[][] expiries = new long[BUCKETS][];
+	private final int[] sizes = new int[BUCKETS];
+	private long currentBucket = Long.MIN_VALUE;
+	private int size;
+
+	@FunctionalInterface
+	interface ExpiryConsumer {
+		void expired(String key, long expiresAt);
+	}
+
+	int size() {
+		return size;
+	}
+
+	void clear() {
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			if (keys[bucket] != null) {
+				Arrays.fill(keys[bucket], 0, sizes[bucket], null);
+			}
+			sizes[bucket] = 0;
+		}
+		size = 0;
+		currentBucket = Long.MIN_VALUE;
+	}
+
+	void add(String key, long expiresAt) {
+		int bucket = (int) (Math.floorDiv(expiresAt, BUCKET_MILLIS) & MASK);
+		int count = sizes[bucket];
+		if (keys[bucket] == null) {
+			keys[bucket] = new String[4];
+			expiries[bucket] = new long[4];
+		} else if (count == keys[bucket].length) {
+			keys[bucket] = Arrays.copyOf(keys[bucket], count * 2);
+			expiries[bucket] = Arrays.copyOf(expiries[bucket], count * 2);
+		}
+		keys[bucket][count] = key;
+		expiries[bucket][count] = expiresAt;
+		sizes[bucket] = count + 1;
+		size++;
+	}
+
+	/**
+	 * Hand every entry that has lapsed by {@code now} to {@code consumer} and drop it from the wheel.
+	 */
+	void advance(long now, ExpiryConsumer consumer) {
+		long target = Math.floorDiv(now, BUCKET_MILLIS);
+		if (size == 0) {
+			currentBucket = target;
+			return;
+		}
+		// After a long pause every bucket may hold due entries, but one full turn still visits each of them once. The
+		// current second is visited again, since entries later in it were not due when it was last drained.
+		long from = currentBucket == Long.MIN_VALUE ? target - MASK : Math.max(currentBucket, target - MASK);
+		for (long tick = from; tick <= target; tick++) {
+			drain((int) (tick & MASK), now, consumer);
+		}
+		currentBucket = target;
+	}
+
+	private void drain(int bucket, long now, ExpiryConsumer consumer) {
+		int count = sizes[bucket];
+		if (count == 0) {
+			return;
+		}
+		String[] bucketKeys = keys[bucket];
+		long[] bucketExpiries = expiries[bucket];
+		int kept = 0;
+		for (int i = 0; i < count; i++) {
+			if (bucketExpiries[i] <= now) {
+				consumer.expired(bucketKeys[i], bucketExpiries[i]);
+				size--;
+			} else {
+				bucketKeys[kept] = bucketKeys[i];
+				bucketExpiries[kept] = bucketExpiries[i];
+				kept++;
+			}
+		}
+		Arrays.fill(bucketKeys, kept, count, null);
+		sizes[bucket] = kept;
+	}
+}
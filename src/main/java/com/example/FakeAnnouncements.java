@@ -0,0 +1,93 @@
+package com.example;
+
+import com.example.config.AnnouncementPolicy;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+
+import java.util.ArrayDeque;
+
+/**
+ * Collects fake join/leave announcements during a tick and broadcasts them once the tick's transitions are done.
+ * <p>
+ * State changes only queue a message, so a mass transition ({@code /fakeplayers force}, a reload, a large cohort
+ * opening) finishes its loop before anything is sent. {@link #flush} then applies the configured
+ * {@link AnnouncementPolicy}, so hundreds of simultaneous joins cost a handful of chat packets instead of one per bot.
+ */
+final class FakeAnnouncements {
+	private final ArrayDeque<Announcement> queue = new ArrayDeque<>();
+
+	void joined(Component name) {
+		queue.add(new Announcement(name, true));
+	}
+
+	void left(Component name) {
+		queue.add(new Announcement(name, false));
+	}
+
+	void clear() {
+		queue.clear();
+	}
+
+	/**
+	 * Broadcast what the policy allows this tick.
+	 */
+	void flush(MinecraftServer server, AnnouncementPolicy policy, int perTick) {
+		if (queue.isEmpty()) {
+			return;
+		}
+		if (server == null) {
+			queue.clear();
+			return;
+		}
+		int cap = Math.max(1, perTick);
+		switch (policy != null ? policy : AnnouncementPolicy.ALL) {
+			case ALL -> {
+				while (!queue.isEmpty()) {
+					send(server, queue.poll());
+				}
+			}
+			case SPREAD -> {
+				for (int i = 0; i < cap && !queue.isEmpty(); i++) {
+					send(server, queue.poll());
+				}
+			}
+			case SUMMARY -> flushSummarized(server, cap);
+		}
+	}
+
+	private void flushSummarized(MinecraftServer server, int cap) {
+		int joins = 0;
+		for (Announcement announcement : queue) {
+			if (announcement.joined()) {
+				joins++;
+			}
+		}
+		int leaves = queue.size() - joins;
+		if (joins <= cap && leaves <= cap) {
+			while (!queue.isEmpty()) {
+				send(server, queue.poll());
+			}
+			return;
+		}
+		// Keep individual lines for whichever side is small enough, in their original order.
+		for (Announcement announcement : queue) {
+			if (announcement.joined() ? joins <= cap : leaves <= cap) {
+				send(server, announcement);
+			}
+		}
+		queue.clear();
+		if (leaves > cap) {
+			server.getPlayerList().broadcastSystemMessage(MessageCatalog.leftSummary(leaves), false);
+		}
+		if (joins > cap) {
+			server.getPlayerList().broadcastSystemMessage(MessageCatalog.joinedSummary(joins), false);
+		}
+	}
+
+	private static void send(MinecraftServer server, Announcement announcement) {
+		Component message = announcement.joined() ? MessageCatalog.joined(announcement.name()) : MessageCatalog.left(announcement.name());
+		server.getPlayerList().broadcastSystemMessage(message, false);
+	}
+
+	private record Announcement(Component name, boolean joined) {}
+}
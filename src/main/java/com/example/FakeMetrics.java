@@ -0,0 +1,209 @@
+package com.example;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide counters and latency histograms for what the mod costs the server.
+ * <p>
+ * Everything here is a {@link LongAdder} or a {@link LatencyHistogram}: recording never locks or allocates, so the
+ * hooks stay in the hot paths permanently. Values are cumulative since start (or the last {@link #reset()}) and are
+ * read through {@code /fakeplayers stats} or the {@code modid:type=Metrics} MBean.
+ */
+final class FakeMetrics {
+	static final LatencyHistogram TICK = new LatencyHistogram();
+	static final LongAdder LOGINS = new LongAdder();
+	static final LongAdder BREAK_STARTS = new LongAdder();
+	static final LongAdder BREAK_ENDS = new LongAdder();
+	static final LongAdder WINDOW_ENDS = new LongAdder();
+	static final LongAdder DEATHS = new LongAdder();
+	static final LongAdder TAB_PACKETS = new LongAdder();
+	static final LongAdder TAB_ENTRIES = new LongAdder();
+	static final LongAdder STATUS_REBUILDS = new LongAdder();
+	static final LongAdder STATUS_HITS = new LongAdder();
+	static final LongAdder SKIN_CACHE_HITS = new LongAdder();
+	static final LongAdder SKIN_CACHE_MISSES = new LongAdder();
+	static final LatencyHistogram SKIN_FETCH = new LatencyHistogram();
+	static final LongAdder SILENT_BAN_DENIALS = new LongAdder();
+
+	private static final String OBJECT_NAME = ExampleMod.MOD_ID + ":type=Metrics";
+
+	private FakeMetrics() {}
+
+	/**
+	 * One tab packet delivered to one viewer, carrying {@code entries} player-info entries (0 for the header/footer).
+	 */
+	static void tabPacketSent(int entries) {
+		TAB_PACKETS.increment();
+		if (entries > 0) {
+			TAB_ENTRIES.add(entries);
+		}
+	}
+
+	static void reset() {
+		TICK.reset();
+		SKIN_FETCH.reset();
+		for (LongAdder adder : List.of(LOGINS, BREAK_STARTS, BREAK_ENDS, WINDOW_ENDS, DEATHS, TAB_PACKETS, TAB_ENTRIES,
+			STATUS_REBUILDS, STATUS_HITS, SKIN_CACHE_HITS, SKIN_CACHE_MISSES, SILENT_BAN_DENIALS)) {
+			adder.reset();
+		}
+	}
+
+	static double skinCacheHitRate() {
+		long hits = SKIN_CACHE_HITS.sum();
+		long total = hits + SKIN_CACHE_MISSES.sum();
+		return total == 0 ? 0.0 : hits / (double) total;
+	}
+
+	/**
+	 * Human-readable summary, one line per area.
+	 */
+	static List<String> describe() {
+		return List.of(
+			"tick: " + TICK.describe(),
+			"transitions: logins=" + LOGINS.sum() + " breakStarts=" + BREAK_STARTS.sum() + " breakEnds=" + BREAK_ENDS.sum()
+				+ " windowEnds=" + WINDOW_ENDS.sum() + " deaths=" + DEATHS.sum(),
+			"tab: packets=" + TAB_PACKETS.sum() + " entries=" + TAB_ENTRIES.sum(),
+			"status: rebuilds=" + STATUS_REBUILDS.sum() + " hits=" + STATUS_HITS.sum(),
+			String.format(Locale.ROOT, "skins: hits=%d misses=%d hitRate=%.1f%% fetch %s",
+				SKIN_CACHE_HITS.sum(), SKIN_CACHE_MISSES.sum(), skinCacheHitRate() * 100.0, SKIN_FETCH.describe()),
+			"silent bans: denials=" + SILENT_BAN_DENIALS.sum()
+		);
+	}
+
+	/**
+	 * Expose the metrics on the platform MBean server. Safe to call again, e.g. after a reinitialization.
+	 */
+	static void registerMBean() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) {
+				return;
+			}
+			server.registerMBean(new StandardMBean(new Bean(), FakeMetricsMXBean.class, true), name);
+		} catch (InstanceAlreadyExistsException ignored) {
+			// Lost a race with another registration; that one serves the same statics.
+		} catch (JMException | RuntimeException e) {
+			ExampleMod.LOGGER.warn("[FakePlayers] Failed to register metrics MBean {}", OBJECT_NAME, e);
+		}
+	}
+
+	private static long micros(long nanos) {
+		return nanos / 1_000L;
+	}
+
+	private static final class Bean implements FakeMetricsMXBean {
+		@Override
+		public long getTickCount() {
+			return TICK.count();
+		}
+
+		@Override
+		public long getTickMeanMicros() {
+			return micros(TICK.meanNanos());
+		}
+
+		@Override
+		public long getTickP99Micros() {
+			return micros(TICK.percentileNanos(0.99));
+		}
+
+		@Override
+		public long getTickMaxMicros() {
+			return micros(TICK.maxNanos());
+		}
+
+		@Override
+		public long getLogins() {
+			return LOGINS.sum();
+		}
+
+		@Override
+		public long getBreakStarts() {
+			return BREAK_STARTS.sum();
+		}
+
+		@Override
+		public long getBreakEnds() {
+			return BREAK_ENDS.sum();
+		}
+
+		@Override
+		public long getWindowEnds() {
+			return WINDOW_ENDS.sum();
+		}
+
+		@Override
+		public long getDeaths() {
+			return DEATHS.sum();
+		}
+
+		@Override
+		public long getTabPacketsSent() {
+			return TAB_PACKETS.sum();
+		}
+
+		@Override
+		public long getTabEntriesSent() {
+			return TAB_ENTRIES.sum();
+		}
+
+		@Override
+		public long getStatusRebuilds() {
+			return STATUS_REBUILDS.sum();
+		}
+
+		@Override
+		public long getStatusCacheHits() {
+			return STATUS_HITS.sum();
+		}
+
+		@Override
+		public long getSkinCacheHits() {
+			return SKIN_CACHE_HITS.sum();
+		}
+
+		@Override
+		public long getSkinCacheMisses() {
+			return SKIN_CACHE_MISSES.sum();
+		}
+
+		@Override
+		public double getSkinCacheHitRate() {
+			return skinCacheHitRate();
+		}
+
+		@Override
+		public long getSkinFetches() {
+			return SKIN_FETCH.count();
+		}
+
+		@Override
+		public long getSkinFetchMeanMicros() {
+			return micros(SKIN_FETCH.meanNanos());
+		}
+
+		@Override
+		public long getSkinFetchP99Micros() {
+			return micros(SKIN_FETCH.percentileNanos(0.99));
+		}
+
+		@Override
+		public long getSilentBanDenials() {
+			return SILENT_BAN_DENIALS.sum();
+		}
+
+		@Override
+		public void reset() {
+			FakeMetrics.reset();
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.example;
+
+/**
+ * JMX view of {@link FakeMetrics}. Latencies are in microseconds; percentiles are bucket upper bounds.
+ */
+public interface FakeMetricsMXBean {
+	long getTickCount();
+
+	long getTickMeanMicros();
+
+	long getTickP99Micros();
+
+	long getTickMaxMicros();
+
+	long getLogins();
+
+	long getBreakStarts();
+
+	long getBreakEnds();
+
+	long getWindowEnds();
+
+	long getDeaths();
+
+	long getTabPacketsSent();
+
+	long getTabEntriesSent();
+
+	long getStatusRebuilds();
+
+	long getStatusCacheHits();
+
+	long getSkinCacheHits();
+
+	long getSkinCacheMisses();
+
+	double getSkinCacheHitRate();
+
+	long getSkinFetches();
+
+	long getSkinFetchMeanMicros();
+
+	long getSkinFetchP99Micros();
+
+	long getSilentBanDenials();
+
+	void reset();
+}
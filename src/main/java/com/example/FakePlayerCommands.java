@@ -12,6 +12,7 @@ import static net.minecraft.commands.Commands.literal;
  * Commands to control fake player presence.
  * /fakeplayers force    -> keep all fake players online
  * /fakeplayers schedule -> resume time-based schedule
+ * /fakeplayers stats    -> counters and latencies since start; "stats reset" zeroes them
  */
 public final class FakePlayerCommands {
 	private FakePlayerCommands() {}
@@ -30,6 +31,9 @@ public final class FakePlayerCommands {
 				.then(literal("enable").executes(ctx -> enable(ctx, scheduler)))
 				.then(literal("disable").executes(ctx -> disable(ctx, scheduler)))
 				.then(literal("list").executes(ctx -> list(ctx, scheduler)))
+				.then(literal("stats")
+					.executes(FakePlayerCommands::stats)
+					.then(literal("reset").executes(FakePlayerCommands::resetStats)))
 		);
 	}
 
@@ -79,6 +83,20 @@ public final class FakePlayerCommands {
 		return 0;
 	}
 
+	private static int stats(CommandContext<CommandSourceStack> ctx) {
+		ctx.getSource().sendSuccess(() -> Component.literal("Fake player metrics:"), false);
+		for (String line : FakeMetrics.describe()) {
+			ctx.getSource().sendSuccess(() -> Component.literal(line), false);
+		}
+		return 1;
+	}
+
+	private static int resetStats(CommandContext<CommandSourceStack> ctx) {
+		FakeMetrics.reset();
+		ctx.getSource().sendSuccess(() -> Component.literal("Fake player metrics reset."), true);
+		return 1;
+	}
+
 	private static int list(CommandContext<CommandSourceStack> ctx, FakePlayerScheduler scheduler) {
 		var statuses = scheduler.getStatuses();
 		if (statuses.isEmpty()) {
@@ -1,194 +1,321 @@
 package com.example;
 
-import com.example.config.ActiveWindowConfig;
-import com.example.config.BotConfig;
-import com.example.config.FakePlayerConfig;
+import com.example.config.AnnouncementPolicy;
 import com.example.config.GlobalConfig;
 import com.google.common.collect.HashMultimap;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.mojang.authlib.GameProfile;
 import com.mojang.authlib.properties.Property;
 import com.mojang.authlib.properties.PropertyMap;
-import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
-import net.minecraft.network.protocol.game.ClientboundPlayerInfoRemovePacket;
+import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.network.protocol.game.ClientboundPlayerInfoUpdatePacket;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.players.NameAndId;
 
-import java.nio.charset.StandardCharsets;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
+import java.time.Clock;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * Drives fake player presence: config-defined schedules, interval/break cycling, and TAB updates.
+ * <p>
+ * Every timed transition (login, break start/end, window end, death) is pushed onto a deadline queue, so a tick only
+ * touches profiles with something due. Deadlines are validated lazily: an entry whose timestamp no longer matches the
+ * profile's current field is stale and gets dropped when it surfaces.
+ * <p>
+ * Per-bot state lives in a {@link FakePlayerStore} as epoch millis, so the tick path does not allocate;
+ * {@link LocalDateTime} only shows up in {@link FakePlayerStatus}.
+ * <p>
+ * Generated bots are handled a cohort at a time: a cohort's bots are added to the store when its shared window opens
+ * and removed again shortly after it closes, so the store only ever holds the generated bots that can be online.
  */
 public class FakePlayerScheduler {
-	private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
 	private static final int LOGIN_STAGGER_SECONDS = 30;
-	private static final ZoneId EASTERN = ZoneId.of("America/New_York");
-	private static final List<String> DEATH_MESSAGES = List.of(
-		"%s fell from a high place",
-		"%s tried to swim in lava",
-		"%s was slain by Zombie",
-		"%s drowned",
-		"%s was shot by Skeleton",
-		"%s suffocated in a wall",
-		"%s was slain by Enderman",
-		"%s hit the ground too hard",
-		"%s burned to death",
-		"%s was slain by Spider",
-		"%s was impaled by Drowned",
-		"%s was blown up by Creeper"
-	);
-
-	private final List<FakePlayerProfile> profiles = new ArrayList<>();
-	private final List<PendingChat> pendingChats = new ArrayList<>();
-	private final Random random = new Random();
-	private final HttpClient httpClient = HttpClient.newBuilder()
-		.connectTimeout(Duration.ofSeconds(5))
-		.build();
-	private final java.util.Map<UUID, SkinTextures> textureCache = new ConcurrentHashMap<>();
-	private MinecraftServer server;
+	private static final long MILLIS_PER_SECOND = 1000L;
+	private static final long MILLIS_PER_MINUTE = 60_000L;
+	// Lines that could not go out within this long (rate limit) are dropped rather than replayed late.
+	private static final long MAX_CHAT_DELAY_MILLIS = 30_000L;
+	private static final int CHAT_BURST = 5;
+	static final ZoneId EASTERN = ZoneId.of("America/New_York");
+
+	// Deadline kinds, packed next to the slot index in DeadlineQueue payloads.
+	private static final int LOGIN = 0;
+	private static final int BREAK_START = 1;
+	private static final int BREAK_END = 2;
+	private static final int WINDOW_END = 3;
+	private static final int DEATH = 4;
+	// For these two the slot field holds a cohort index instead.
+	private static final int COHORT_OPEN = 5;
+	private static final int COHORT_CLOSE = 6;
+
+	private static final long UNSET = FakePlayerStore.UNSET;
+	// Window end of a bot whose windows cover the whole day; no WINDOW_END deadline is ever pushed for it.
+	private static final long NEVER = Long.MAX_VALUE;
+
+	private final FakePlayerStore store = new FakePlayerStore();
+	private final FakeTabSync tabSync = new FakeTabSync(store);
+	private final FakeAnnouncements announcements = new FakeAnnouncements();
+	private List<NameAndId> activePlayers;
+	private long activePlayersVersion;
+	private final ChatQueue pendingChats = new ChatQueue();
+	private final DeadlineQueue deadlines = new DeadlineQueue();
+	private long[] dueTimes = new long[64];
+	private int[] duePayloads = new int[64];
+	private TokenBucket chatLimiter;
+	private int chatLimiterRate;
+	private final ScheduleClock clock;
+	private final Random random;
+	private ScheduleObserver observer = ScheduleObserver.NONE;
+	private SkinCache skinCache;
+	private SkinResolver skinResolver;
+	// Read by skin fetch callbacks off the server thread.
+	private volatile MinecraftServer server;
 	private boolean forcedOnline = false;
 	private GlobalConfig globalConfig = new GlobalConfig();
+	private GeneratedPopulation population = GeneratedPopulation.EMPTY;
+	private long[] cohortOpenAt = new long[0];
+	private long[] cohortCloseAt = new long[0];
+	// Store slots per materialized cohort (-1 for a member shadowed by a hand-written bot), null otherwise.
+	private int[][] cohortSlots = new int[0][];
+	private final BitSet generatedSlots = new BitSet();
+
+	public FakePlayerScheduler() {
+		this(Clock.system(EASTERN), new Random());
+	}
+
+	/**
+	 * Scheduler whose every timing decision comes from {@code clock} and {@code random}, so a seeded random and a
+	 * simulated clock replay the same schedule. The clock's zone is the schedule zone.
+	 */
+	FakePlayerScheduler(Clock clock, Random random) {
+		this.clock = new ScheduleClock(clock);
+		this.random = random;
+	}
+
+	/**
+	 * Receive every bot state change as it happens, e.g. to record a simulated timeline.
+	 */
+	void setObserver(ScheduleObserver observer) {
+		this.observer = observer != null ? observer : ScheduleObserver.NONE;
+	}
 
 	public void bind(MinecraftServer server) {
 		this.server = server;
+		SharedPacket.bind(server);
 	}
 
 	/**
-	 * Reload configuration and rebuild internal profiles.
+	 * Reload configuration, diffing the new bot list against the current roster by UUID.
+	 * <p>
+	 * Unchanged bots keep their online/break state and timers; changed bots are updated in place; only added and
+	 * removed bots (and bots whose name or skin changed) produce join/leave messages or tab packets. New timing
+	 * settings apply from the next time each timer is drawn. Generated cohorts are rebuilt only when the generator
+	 * sections themselves changed.
 	 *
 	 * @param server running server
-	 * @param config latest fake player config
+	 * @param roster latest loaded roster
 	 */
-	public void applyConfig(MinecraftServer server, FakePlayerConfig config) {
-		this.server = server;
-		LocalDateTime now = currentEasternTime();
-		for (FakePlayerProfile profile : profiles) {
-			if (profile.online || profile.inBreak) {
-				goOffline(profile, now);
+	public void applyRoster(MinecraftServer server, RosterLoader.Roster roster) {
+		bind(server);
+		long now = clock.millis();
+		boolean wasEnabled = globalConfig != null && globalConfig.enabled;
+		this.globalConfig = normalizeGlobalConfig(roster.global());
+		boolean enabled = globalConfig != null && globalConfig.enabled;
+		if (server != null) {
+			// Headless runs (no server) keep every bot on the default skin instead of going to the network.
+			ensureSkinResolver(globalConfig);
+		}
+		ensureChatLimiter(globalConfig);
+		boolean populationChanged = !roster.population().equals(population);
+		if (wasEnabled && !enabled) {
+			forcedOnline = false;
+			for (int slot = store.live.nextSetBit(0); slot >= 0; slot = store.live.nextSetBit(slot + 1)) {
+				goOffline(slot, now);
 			}
+			closeAllCohorts(now);
+			deadlines.clear();
+			clearPendingChats();
+		} else if (populationChanged) {
+			closeAllCohorts(now);
+		}
+		if (populationChanged) {
+			// Queued cohort deadlines index the old population's cohorts.
+			deadlines.removeKinds(1 << COHORT_OPEN | 1 << COHORT_CLOSE);
+			resetCohorts(roster.population());
+		}
+		reconcile(roster.bots(), now, wasEnabled && enabled);
+		if (enabled && !wasEnabled) {
+			for (int slot = store.live.nextSetBit(0); slot >= 0; slot = store.live.nextSetBit(slot + 1)) {
+				scheduleWindowEntry(slot, now);
+			}
+			scheduleCohorts(now);
+		} else if (enabled && populationChanged) {
+			scheduleCohorts(now);
 		}
-		this.globalConfig = normalizeGlobalConfig(config != null ? config.global : null);
-		rebuildProfiles(config != null ? config.bots : null);
-		pendingChats.clear();
-		forcedOnline = false;
 	}
 
 	public void shutdown() {
-		pendingChats.clear();
-		for (FakePlayerProfile profile : profiles) {
-			if (profile.online) {
-				sendRemove(profile);
+		clearPendingChats();
+		deadlines.clear();
+		for (int slot = store.live.nextSetBit(0); slot >= 0; slot = store.live.nextSetBit(slot + 1)) {
+			if (store.isOnline(slot)) {
+				tabSync.markOffline(slot);
 			}
-			profile.resetState();
+			store.reset(slot);
+		}
+		tabSync.flush(this.server);
+		tabSync.release();
+		announcements.clear();
+		for (int slot = generatedSlots.nextSetBit(0); slot >= 0; slot = generatedSlots.nextSetBit(slot + 1)) {
+			store.remove(slot);
 		}
+		generatedSlots.clear();
+		resetCohorts(GeneratedPopulation.EMPTY);
 		this.server = null;
+		SharedPacket.bind(null);
+		if (skinResolver != null) {
+			skinResolver.close();
+			skinResolver = null;
+		}
+		if (skinCache != null) {
+			skinCache.close();
+			skinCache = null;
+		}
 	}
 
 	public void tick(MinecraftServer server) {
 		if (this.server == null) {
 			return;
 		}
+		step();
+	}
+
+	/**
+	 * Fire what is due at the clock's current time and flush the result. Runs without a bound server as well, which
+	 * is how the headless simulator drives the schedule: messages and packets are then dropped.
+	 */
+	void step() {
+		long started = System.nanoTime();
+		// disable() and applyConfig() already took everyone offline and dropped all deadlines.
+		if (globalConfig != null && globalConfig.enabled) {
+			long now = clock.millis();
+			fireDueDeadlines(now);
+			deliverPendingChats(now);
+		}
 
-		LocalDateTime now = currentEasternTime();
+		// Transitions from this tick and from commands since the last one go out as one delta.
+		tabSync.flush(this.server);
+		announcements.flush(this.server, globalConfig != null ? globalConfig.announcementPolicy : null, globalConfig != null ? globalConfig.maxAnnouncementsPerTick : 1);
+		FakeMetrics.TICK.record(System.nanoTime() - started);
+	}
 
-		if (globalConfig == null || !globalConfig.enabled) {
-			forcedOnline = false;
-			for (FakePlayerProfile profile : profiles) {
-				if (profile.online || profile.inBreak) {
-					goOffline(profile, now);
-				}
+	private void fireDueDeadlines(long now) {
+		// Drain first, fire second: deadlines scheduled while firing wait for the next tick, so a zero-length
+		// break or interval still advances one step per tick instead of spinning inside this loop.
+		int due = 0;
+		while (deadlines.peekTime() <= now) {
+			if (due == dueTimes.length) {
+				dueTimes = Arrays.copyOf(dueTimes, due * 2);
+				duePayloads = Arrays.copyOf(duePayloads, due * 2);
 			}
-			pendingChats.clear();
-			return;
+			dueTimes[due] = deadlines.peekTime();
+			duePayloads[due] = deadlines.poll();
+			due++;
+		}
+		for (int i = 0; i < due; i++) {
+			fire(dueTimes[i], duePayloads[i], now);
 		}
+	}
 
-		if (forcedOnline) {
-			for (FakePlayerProfile profile : profiles) {
-				if (!profile.online) {
-					goOnline(profile, now, null, false);
+	private void fire(long when, int payload, long now) {
+		int slot = DeadlineQueue.slotOf(payload);
+		switch (DeadlineQueue.kindOf(payload)) {
+			case COHORT_OPEN -> {
+				int cohort = slot;
+				if (cohort >= cohortOpenAt.length || cohortOpenAt[cohort] != when) {
+					return;
 				}
-				profile.inBreak = false;
-				profile.breakUntil = null;
-				profile.nextBreakStart = null;
-				maybeTriggerDeath(profile, now);
+				cohortOpenAt[cohort] = UNSET;
+				openCohort(cohort, now);
+				scheduleCohortClose(cohort, now);
 			}
-			deliverPendingChats(now);
-			return;
-		}
-
-		for (FakePlayerProfile profile : profiles) {
-			WindowInstance activeWindow = resolveActiveWindow(profile, now);
-
-			if (activeWindow == null) {
-				if (profile.online || profile.inBreak) {
-					goOffline(profile, now);
+			case COHORT_CLOSE -> {
+				int cohort = slot;
+				if (forcedOnline || cohort >= cohortCloseAt.length || cohortCloseAt[cohort] != when) {
+					return;
 				}
-				profile.resetScheduleState();
-				continue;
+				if (resolveWindowEnd(population.window(cohort), now) != UNSET) {
+					// The window reopens right away: keep the cohort.
+					scheduleCohortClose(cohort, now);
+					return;
+				}
+				closeCohort(cohort, now);
+				scheduleCohortOpen(cohort, now);
 			}
-
-			profile.currentWindowEnd = activeWindow.end();
-
-			if (profile.online) {
-				// Window end reached
-				if (!now.isBefore(activeWindow.end())) {
-					goOffline(profile, now);
-					continue;
+			case LOGIN -> {
+				if (forcedOnline || store.isOnlineOrInBreak(slot) || store.nextLogin[slot] != when) {
+					return;
 				}
-
-				// Break time?
-				if (profile.nextBreakStart != null && !now.isBefore(profile.nextBreakStart)) {
-					startBreak(profile, now, activeWindow);
+				long windowEnd = resolveWindowEnd(slot, now);
+				if (windowEnd == UNSET) {
+					// Windows are end-exclusive; a stagger can push the login past a short window.
+					store.resetSchedule(slot);
+					scheduleWindowEntry(slot, now);
+					return;
+				}
+				goOnline(slot, now, windowEnd, false);
+				FakeMetrics.LOGINS.increment();
+			}
+			case BREAK_START -> {
+				if (forcedOnline || !store.isOnline(slot) || store.nextBreakStart[slot] != when) {
+					return;
+				}
+				startBreak(slot, now, store.windowEnd[slot]);
+				FakeMetrics.BREAK_STARTS.increment();
+			}
+			case BREAK_END -> {
+				if (forcedOnline || !store.isInBreak(slot) || store.breakUntil[slot] != when) {
+					return;
 				}
-			} else if (profile.inBreak) {
-				// End break if time reached and still inside window
-				if (profile.breakUntil != null && !now.isBefore(profile.breakUntil) && now.isBefore(activeWindow.end())) {
-					endBreak(profile, now, activeWindow);
-				} else if (!now.isBefore(activeWindow.end())) {
-					goOffline(profile, now);
+				long windowEnd = resolveWindowEnd(slot, now);
+				if (windowEnd != UNSET) {
+					endBreak(slot, now, windowEnd);
+				} else {
+					goOffline(slot, now);
+					scheduleWindowEntry(slot, now);
 				}
+				FakeMetrics.BREAK_ENDS.increment();
 			}
-
-			if (!profile.online && !profile.inBreak) {
-				if (profile.nextLogin == null) {
-					profile.nextLogin = now.plusSeconds(random.nextInt(LOGIN_STAGGER_SECONDS + 1));
+			case WINDOW_END -> {
+				if (forcedOnline || !store.isOnlineOrInBreak(slot) || store.windowEnd[slot] != when) {
+					return;
 				}
-				if (!now.isBefore(profile.nextLogin)) {
-					goOnline(profile, now, activeWindow, false);
+				goOffline(slot, now);
+				scheduleWindowEntry(slot, now);
+				FakeMetrics.WINDOW_ENDS.increment();
+			}
+			case DEATH -> {
+				if (!store.isOnline(slot) || store.nextDeath[slot] != when) {
+					return;
 				}
+				sendDeathMessage(slot);
+				scheduleNextDeath(slot, now);
+				FakeMetrics.DEATHS.increment();
+				observer.transition(now, store.ids[slot], ScheduleObserver.Transition.DEATH);
 			}
-
-			if (profile.online) {
-				maybeTriggerDeath(profile, now);
+			default -> {
 			}
 		}
-
-		deliverPendingChats(now);
 	}
 
 	public boolean enable() {
@@ -209,91 +336,143 @@ public class FakePlayerScheduler {
 		}
 		globalConfig.enabled = false;
 		forcedOnline = false;
-		LocalDateTime now = currentEasternTime();
-		for (FakePlayerProfile profile : profiles) {
-			if (profile.online || profile.inBreak) {
-				goOffline(profile, now);
+		long now = clock.millis();
+		for (int slot = store.live.nextSetBit(0); slot >= 0; slot = store.live.nextSetBit(slot + 1)) {
+			if (store.isOnlineOrInBreak(slot)) {
+				goOffline(slot, now);
 			}
 		}
-		pendingChats.clear();
+		closeAllCohorts(now);
+		deadlines.clear();
+		clearPendingChats();
 		return true;
 	}
 
 	public void handleRealPlayerJoin(ServerPlayer joining) {
-		if (this.server == null || profiles.isEmpty()) {
+		if (this.server == null) {
 			return;
 		}
 
 		// Ensure the joining player receives current fake tab entries.
-		sendAddSnapshotTo(joining);
+		tabSync.addViewer(joining);
+		if (store.isEmpty()) {
+			return;
+		}
 
-		List<FakePlayerProfile> online = profiles.stream().filter(FakePlayerProfile::online).toList();
-		if (online.isEmpty()) {
+		int onlineCount = store.onlineCount();
+		if (onlineCount == 0) {
 			return;
 		}
 
 		if (random.nextDouble() <= 0.25d) {
-			FakePlayerProfile speaker = online.get(random.nextInt(online.size()));
+			int speaker = nthOnline(random.nextInt(onlineCount));
 			String[] pool = {"Yo", "Hi", "Hello", "yo yo", "what's up"};
 			String msg = pool[random.nextInt(pool.length)];
 			long delaySeconds = 1 + random.nextInt(5);
-			pendingChats.add(new PendingChat(currentEasternTime().plusSeconds(delaySeconds), speaker, msg));
+			long when = clock.millis() + delaySeconds * MILLIS_PER_SECOND;
+			pendingChats.push(when, speaker, msg);
 		}
 	}
 
+	public void handleRealPlayerLeave(ServerPlayer leaving) {
+		tabSync.removeViewer(leaving);
+	}
+
+	/**
+	 * Resend the full fake roster to every real player, e.g. after the server finished starting.
+	 */
+	public void resyncTabList(MinecraftServer server) {
+		tabSync.resyncAll(server);
+	}
+
+	/**
+	 * Version of the online fake roster; changes whenever a fake player comes online, goes offline, or changes entry.
+	 */
+	public long getRosterVersion() {
+		return tabSync.rosterVersion();
+	}
+
+	int onlineCount() {
+		return store.onlineCount();
+	}
+
+	/**
+	 * When the next deadline falls due, or {@link Long#MAX_VALUE} when nothing is scheduled.
+	 */
+	long nextDeadline() {
+		return deadlines.peekTime();
+	}
+
 	public List<NameAndId> getActivePlayers() {
-		return profiles.stream()
-			.filter(FakePlayerProfile::online)
-			.map(FakePlayerProfile::nameAndId)
-			.collect(Collectors.toUnmodifiableList());
+		long version = tabSync.rosterVersion();
+		if (activePlayers != null && activePlayersVersion == version) {
+			return activePlayers;
+		}
+		List<NameAndId> active = new ArrayList<>(store.onlineCount());
+		for (int slot = store.online.nextSetBit(0); slot >= 0; slot = store.online.nextSetBit(slot + 1)) {
+			active.add(store.ids[slot]);
+		}
+		activePlayers = Collections.unmodifiableList(active);
+		activePlayersVersion = version;
+		return activePlayers;
 	}
 
 	public List<ClientboundPlayerInfoUpdatePacket.Entry> getActiveTabEntries() {
-		return profiles.stream()
-			.filter(FakePlayerProfile::online)
-			.map(FakePlayerProfile::entry)
-			.collect(Collectors.toUnmodifiableList());
+		List<ClientboundPlayerInfoUpdatePacket.Entry> active = new ArrayList<>(store.onlineCount());
+		for (int slot = store.online.nextSetBit(0); slot >= 0; slot = store.online.nextSetBit(slot + 1)) {
+			active.add(store.entries[slot]);
+		}
+		return Collections.unmodifiableList(active);
 	}
 
 	/**
 	 * Snapshot of all known fake players and their current state.
 	 */
 	public List<FakePlayerStatus> getStatuses() {
-		LocalDateTime now = currentEasternTime();
-		List<FakePlayerStatus> statuses = new ArrayList<>();
-		for (FakePlayerProfile profile : profiles) {
-			WindowInstance window = resolveActiveWindow(profile, now);
-			boolean inWindow = window != null;
+		long now = clock.millis();
+		int minuteOfDay = clock.minuteOfDay(now);
+		List<FakePlayerStatus> statuses = new ArrayList<>(store.size());
+		for (int slot = store.live.nextSetBit(0); slot >= 0; slot = store.live.nextSetBit(slot + 1)) {
+			NameAndId id = store.ids[slot];
 			statuses.add(new FakePlayerStatus(
-				profile.nameAndId().name(),
-				profile.nameAndId().id(),
-				profile.online,
-				profile.inBreak,
-				inWindow,
-				profile.nextBreakStart,
-				profile.breakUntil,
-				profile.nextLogin,
-				profile.currentWindowEnd,
-				profile.nextDeath
+				id.name(),
+				id.id(),
+				store.isOnline(slot),
+				store.isInBreak(slot),
+				store.windows[slot].isActive(minuteOfDay),
+				toLocal(store.nextBreakStart[slot]),
+				toLocal(store.breakUntil[slot]),
+				toLocal(store.nextLogin[slot]),
+				toLocal(store.windowEnd[slot]),
+				toLocal(store.nextDeath[slot])
 			));
 		}
 		return statuses;
 	}
 
+	/**
+	 * Bring every bot online until {@link #resumeSchedule()}, including every generated cohort, so on a large
+	 * generated population this materializes all of it.
+	 */
 	public boolean forceOnlineAll() {
 		if (globalConfig == null || !globalConfig.enabled) {
 			return false;
 		}
 
 		this.forcedOnline = true;
-		for (FakePlayerProfile profile : profiles) {
-			profile.inBreak = false;
-			profile.breakUntil = null;
-			profile.nextBreakStart = null;
-			if (!profile.online) {
-				goOnline(profile, currentEasternTime(), null, false);
-			} else if (profile.nextDeath == null) {
-				scheduleNextDeath(profile, currentEasternTime());
+		long now = clock.millis();
+		for (int cohort = 0; cohort < cohortSlots.length; cohort++) {
+			openCohort(cohort, now);
+		}
+		for (int slot = store.live.nextSetBit(0); slot >= 0; slot = store.live.nextSetBit(slot + 1)) {
+			store.inBreak.clear(slot);
+			store.breakUntil[slot] = UNSET;
+			store.nextBreakStart[slot] = UNSET;
+			store.nextLogin[slot] = UNSET;
+			if (!store.isOnline(slot)) {
+				goOnline(slot, now, UNSET, false);
+			} else if (store.nextDeath[slot] == UNSET) {
+				scheduleNextDeath(slot, now);
 			}
 		}
 		return true;
@@ -301,143 +480,281 @@ public class FakePlayerScheduler {
 
 	public void resumeSchedule() {
 		this.forcedOnline = false;
-		LocalDateTime now = currentEasternTime();
-		for (FakePlayerProfile profile : profiles) {
-			if (profile.online || profile.inBreak) {
-				goOffline(profile, now);
+		long now = clock.millis();
+		for (int slot = store.live.nextSetBit(0); slot >= 0; slot = store.live.nextSetBit(slot + 1)) {
+			if (store.isOnlineOrInBreak(slot)) {
+				goOffline(slot, now);
 			}
-			profile.resetScheduleState();
+			store.resetSchedule(slot);
+		}
+		closeAllCohorts(now);
+		deadlines.clear();
+		clearPendingChats();
+		if (globalConfig == null || !globalConfig.enabled) {
+			return;
 		}
+		for (int slot = store.live.nextSetBit(0); slot >= 0; slot = store.live.nextSetBit(slot + 1)) {
+			scheduleWindowEntry(slot, now);
+		}
+		scheduleCohorts(now);
 	}
 
-	private void rebuildProfiles(List<BotConfig> bots) {
-		profiles.clear();
-		if (bots == null || bots.isEmpty()) {
-			return;
+	/**
+	 * Bring the hand-written roster in line with {@code bots}: remove bots that are gone, update changed ones in place
+	 * and add new ones. Generated bots are left to their cohorts.
+	 *
+	 * @param schedule whether the schedule is running, so added bots and changed windows need timers
+	 */
+	private void reconcile(List<CompiledBot> bots, long now, boolean schedule) {
+		Set<UUID> wanted = new HashSet<>(bots.size() * 2);
+		for (CompiledBot bot : bots) {
+			wanted.add(bot.id().id());
+		}
+		BitSet removed = new BitSet();
+		for (int slot = store.live.nextSetBit(0); slot >= 0; slot = store.live.nextSetBit(slot + 1)) {
+			if (!generatedSlots.get(slot) && !wanted.contains(store.ids[slot].id())) {
+				goOffline(slot, now);
+				removed.set(slot);
+			}
 		}
+		removeSlots(removed);
 
-		for (BotConfig bot : bots) {
-			if (bot == null || !bot.enabled || bot.name == null || bot.name.isBlank()) {
+		for (CompiledBot bot : bots) {
+			int slot = store.indexOf(bot.id().id());
+			if (slot >= 0) {
+				updateBot(slot, bot, now, schedule);
 				continue;
 			}
-			List<ActiveWindow> windows = parseWindows(bot.activeWindows);
-			if (windows.isEmpty()) {
+			slot = store.add(bot, null, null);
+			applyProfile(slot, bot);
+			if (!schedule) {
 				continue;
 			}
-			UUID id = resolveUuid(bot);
-			NameAndId nameAndId = new NameAndId(id, bot.name);
-			GameProfile gameProfile = buildProfile(bot, id);
-			ClientboundPlayerInfoUpdatePacket.Entry entry = ExampleMod.toEntry(gameProfile);
-			FakePlayerProfile fakeProfile = new FakePlayerProfile(nameAndId, gameProfile, entry, windows);
-			fakeProfile.nextDeath = null;
-			profiles.add(fakeProfile);
+			if (forcedOnline) {
+				goOnline(slot, now, UNSET, false);
+			} else {
+				scheduleWindowEntry(slot, now);
+			}
 		}
 	}
 
-	private List<ActiveWindow> parseWindows(List<ActiveWindowConfig> configs) {
-		List<ActiveWindow> windows = new ArrayList<>();
-		if (configs == null) {
-			return windows;
+	/**
+	 * Free slots whose bots have already gone offline.
+	 */
+	private void removeSlots(BitSet removed) {
+		if (removed.isEmpty()) {
+			return;
+		}
+		pendingChats.removeSpeakers(removed);
+		// Removals refer to the old ids, so they must go out before the slots are freed for reuse.
+		tabSync.flush(this.server);
+		for (int slot = removed.nextSetBit(0); slot >= 0; slot = removed.nextSetBit(slot + 1)) {
+			store.remove(slot);
+			generatedSlots.clear(slot);
+		}
+	}
+
+	private void resetCohorts(GeneratedPopulation next) {
+		population = next;
+		int cohorts = next.cohortCount();
+		cohortOpenAt = new long[cohorts];
+		cohortCloseAt = new long[cohorts];
+		Arrays.fill(cohortOpenAt, UNSET);
+		Arrays.fill(cohortCloseAt, UNSET);
+		cohortSlots = new int[cohorts][];
+	}
+
+	/**
+	 * Open every cohort whose window is open now and plan the opening of the rest.
+	 */
+	private void scheduleCohorts(long now) {
+		for (int cohort = 0; cohort < cohortSlots.length; cohort++) {
+			if (resolveWindowEnd(population.window(cohort), now) != UNSET) {
+				openCohort(cohort, now);
+				scheduleCohortClose(cohort, now);
+			} else {
+				scheduleCohortOpen(cohort, now);
+			}
+		}
+	}
+
+	private void scheduleCohortOpen(int cohort, long now) {
+		long start = nextWindowStart(population.window(cohort), now);
+		cohortOpenAt[cohort] = start;
+		if (start != UNSET) {
+			deadlines.push(start, cohort, COHORT_OPEN);
+		}
+	}
+
+	/**
+	 * Close a minute after the window does, so members leave through their own window-end deadline first.
+	 */
+	private void scheduleCohortClose(int cohort, long now) {
+		long windowEnd = resolveWindowEnd(population.window(cohort), now);
+		if (windowEnd == NEVER) {
+			cohortCloseAt[cohort] = UNSET;
+			return;
+		}
+		long close = (windowEnd != UNSET ? windowEnd : now) + MILLIS_PER_MINUTE;
+		cohortCloseAt[cohort] = close;
+		deadlines.push(close, cohort, COHORT_CLOSE);
+	}
+
+	/**
+	 * Add a cohort's bots to the store and give them timers, or bring them straight online when forced.
+	 */
+	private void openCohort(int cohort, long now) {
+		if (cohortSlots[cohort] != null) {
+			return;
 		}
-		for (ActiveWindowConfig window : configs) {
-			if (window == null || window.startTime == null || window.endTime == null) {
+		int[] slots = new int[population.cohortSize(cohort)];
+		for (int member = 0; member < slots.length; member++) {
+			CompiledBot bot = population.bot(cohort, member);
+			if (store.indexOf(bot.id().id()) >= 0 || store.indexOfName(bot.id().name()) >= 0) {
+				// A hand-written bot or another generator already uses this UUID or name; it wins.
+				slots[member] = -1;
 				continue;
 			}
-			try {
-				LocalTime start = LocalTime.parse(window.startTime, TIME_FORMAT);
-				LocalTime end = LocalTime.parse(window.endTime, TIME_FORMAT);
-				windows.add(new ActiveWindow(start, end));
-			} catch (DateTimeParseException e) {
-				ExampleMod.LOGGER.warn("[FakePlayers] Invalid window time: {} - {}", window.startTime, window.endTime);
+			int slot = store.add(bot, null, null);
+			applyProfile(slot, bot);
+			generatedSlots.set(slot);
+			slots[member] = slot;
+			if (forcedOnline) {
+				goOnline(slot, now, UNSET, false);
+			} else {
+				scheduleWindowEntry(slot, now);
 			}
 		}
-		return windows;
+		cohortSlots[cohort] = slots;
 	}
 
-	private GameProfile buildProfile(BotConfig bot, UUID id) {
-		var map = HashMultimap.<String, Property>create();
-		SkinTextures textures = resolveSkin(bot);
-		if (textures != null) {
-			map.put("textures", new Property("textures", textures.value(), textures.signature()));
+	private void closeCohort(int cohort, long now) {
+		int[] slots = cohortSlots[cohort];
+		if (slots == null) {
+			return;
 		}
-		return new GameProfile(id, bot.name, new PropertyMap(map));
+		cohortSlots[cohort] = null;
+		cohortCloseAt[cohort] = UNSET;
+		BitSet removed = new BitSet();
+		for (int slot : slots) {
+			if (slot >= 0) {
+				goOffline(slot, now);
+				removed.set(slot);
+			}
+		}
+		removeSlots(removed);
 	}
 
-	private SkinTextures resolveSkin(BotConfig bot) {
-		// Explicit texture payload wins.
-		if (bot.textureValue != null && bot.textureSignature != null) {
-			return new SkinTextures(bot.textureValue, bot.textureSignature);
+	private void closeAllCohorts(long now) {
+		for (int cohort = 0; cohort < cohortSlots.length; cohort++) {
+			closeCohort(cohort, now);
 		}
+		Arrays.fill(cohortOpenAt, UNSET);
+	}
 
-		UUID skinUuid = parseUuid(bot.skinUuid);
-		if (skinUuid == null) {
-			return null;
+	private void updateBot(int slot, CompiledBot bot, long now, boolean schedule) {
+		CompiledBot previous = store.definitions[slot];
+		store.definitions[slot] = bot;
+		if (!bot.sameProfile(previous)) {
+			store.rename(slot, bot.id());
+			applyProfile(slot, bot);
+			tabSync.markEntryChanged(slot);
+		}
+		if (bot.windows().equals(previous.windows())) {
+			return;
+		}
+		store.windows[slot] = bot.windows();
+		if (!schedule || forcedOnline) {
+			return;
+		}
+		if (!store.isOnlineOrInBreak(slot)) {
+			scheduleWindowEntry(slot, now);
+			return;
 		}
-		SkinTextures cached = textureCache.get(skinUuid);
-		if (cached != null) {
-			return cached;
+		long windowEnd = resolveWindowEnd(slot, now);
+		if (windowEnd == UNSET) {
+			goOffline(slot, now);
+			scheduleWindowEntry(slot, now);
+			return;
 		}
-		SkinTextures downloaded = downloadSkinTextures(skinUuid);
-		if (downloaded != null) {
-			textureCache.put(skinUuid, downloaded);
+		if (windowEnd != store.windowEnd[slot]) {
+			store.windowEnd[slot] = windowEnd;
+			if (windowEnd != NEVER) {
+				deadlines.push(windowEnd, slot, WINDOW_END);
+			}
+			if (store.isOnline(slot)) {
+				scheduleNextBreak(slot, now, windowEnd);
+			}
 		}
-		return downloaded;
 	}
 
-	private UUID parseUuid(String raw) {
-		if (raw == null || raw.isBlank()) {
-			return null;
+	/**
+	 * Build the slot's profile and tab entry from its definition. Without explicit or cached textures the bot starts
+	 * on the default skin until the fetch lands.
+	 */
+	private void applyProfile(int slot, CompiledBot bot) {
+		UUID skinUuid = bot.skinUuid();
+		SkinTextures textures = bot.explicitTextures() != null
+			? bot.explicitTextures()
+			: skinUuid != null && skinResolver != null ? skinResolver.cached(skinUuid) : null;
+		GameProfile profile = buildProfile(bot.id().id(), bot.id().name(), textures);
+		store.profiles[slot] = profile;
+		store.entries[slot] = ExampleMod.toEntry(profile);
+		store.names[slot] = MessageCatalog.playerName(bot.id().id(), bot.id().name());
+		if (textures == null && skinUuid != null && skinResolver != null) {
+			requestSkin(bot.id().id(), skinUuid);
 		}
-		try {
-			return UUID.fromString(raw);
-		} catch (IllegalArgumentException ignored) {
-			return null;
+	}
+
+	private GameProfile buildProfile(UUID id, String name, SkinTextures textures) {
+		var map = HashMultimap.<String, Property>create();
+		if (textures != null) {
+			map.put("textures", new Property("textures", textures.value(), textures.signature()));
 		}
+		return new GameProfile(id, name, new PropertyMap(map));
 	}
 
-	private SkinTextures downloadSkinTextures(UUID uuid) {
-		try {
-			String plain = uuid.toString().replace("-", "");
-			URI uri = URI.create("https://sessionserver.mojang.com/session/minecraft/profile/" + plain + "?unsigned=false");
-			HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
-			HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-			if (response.statusCode() != 200) {
-				return null;
-			}
-			JsonObject obj = JsonParser.parseString(response.body()).getAsJsonObject();
-			JsonArray props = obj.getAsJsonArray("properties");
-			if (props == null) {
-				return null;
+	/**
+	 * Fetch textures in the background and swap them into the bot's entry on the server thread once they arrive.
+	 */
+	private void requestSkin(UUID botId, UUID skinUuid) {
+		skinResolver.resolve(skinUuid).whenComplete((textures, failure) -> {
+			if (failure != null) {
+				ExampleMod.LOGGER.warn("[FakePlayers] Skin lookup {} for bot {} failed, keeping the default skin.", skinUuid, botId, failure);
+				return;
 			}
-			for (JsonElement el : props) {
-				JsonObject prop = el.getAsJsonObject();
-				if (!prop.has("name") || !prop.get("name").getAsString().equals("textures")) {
-					continue;
-				}
-				if (!prop.has("value")) {
-					continue;
-				}
-				String value = prop.get("value").getAsString();
-				String sig = prop.has("signature") ? prop.get("signature").getAsString() : null;
-				if (value != null && sig != null) {
-					return new SkinTextures(value, sig);
-				}
+			MinecraftServer target = this.server;
+			if (textures != null && target != null) {
+				target.execute(() -> applySkin(botId, skinUuid, textures));
 			}
-		} catch (Exception ignored) {
-			// Keep quiet; skin fetch failures fall back to default skin.
+		});
+	}
+
+	private void applySkin(UUID botId, UUID skinUuid, SkinTextures textures) {
+		int slot = store.indexOf(botId);
+		// The roster may have been reloaded while the fetch was running.
+		if (slot < 0 || !skinUuid.equals(store.definitions[slot].skinUuid())) {
+			return;
 		}
-		return null;
+		GameProfile profile = buildProfile(botId, store.ids[slot].name(), textures);
+		store.profiles[slot] = profile;
+		store.entries[slot] = ExampleMod.toEntry(profile);
+		tabSync.markEntryChanged(slot);
 	}
 
-	private UUID resolveUuid(BotConfig bot) {
-		if (bot.uuid != null && !bot.uuid.isBlank()) {
-			try {
-				return UUID.fromString(bot.uuid);
-			} catch (IllegalArgumentException ignored) {
-				ExampleMod.LOGGER.warn("[FakePlayers] Invalid UUID {} for bot {}, generating deterministic fallback.", bot.uuid, bot.name);
-			}
+	private void ensureSkinResolver(GlobalConfig config) {
+		String url = config != null ? config.sessionServerUrl : null;
+		int concurrency = config != null ? config.maxConcurrentSkinFetches : 4;
+		if (skinResolver != null && skinResolver.matches(url, concurrency)) {
+			return;
+		}
+		if (skinResolver != null) {
+			skinResolver.close();
 		}
-		return UUID.nameUUIDFromBytes(("fakebot:" + bot.name).getBytes(StandardCharsets.UTF_8));
+		if (skinCache == null) {
+			skinCache = SkinCache.open();
+		}
+		skinResolver = new SkinResolver(url, concurrency, skinCache);
 	}
 
 	private GlobalConfig normalizeGlobalConfig(GlobalConfig config) {
@@ -477,280 +794,234 @@ public class FakePlayerScheduler {
 			config.minDeathMinutes = config.maxDeathMinutes;
 			config.maxDeathMinutes = swap;
 		}
+		if (config.maxChatLinesPerMinute < 1) {
+			config.maxChatLinesPerMinute = 1;
+		}
+		if (config.announcementPolicy == null) {
+			config.announcementPolicy = AnnouncementPolicy.SUMMARY;
+		}
+		if (config.maxAnnouncementsPerTick < 1) {
+			config.maxAnnouncementsPerTick = 1;
+		}
 		return config;
 	}
 
-	private WindowInstance resolveActiveWindow(FakePlayerProfile profile, LocalDateTime now) {
-		for (ActiveWindow window : profile.activeWindows) {
-			LocalDateTime start = now.toLocalDate().atTime(window.start());
-			LocalDateTime end = now.toLocalDate().atTime(window.end());
-			if (!window.end().isAfter(window.start())) {
-				if (now.toLocalTime().isBefore(window.start())) {
-					start = start.minusDays(1);
-				}
-				end = end.plusDays(1);
-			}
-			if (!now.isBefore(start) && now.isBefore(end)) {
-				return new WindowInstance(start, end);
-			}
+	/**
+	 * End of the window open at {@code now}, {@link FakePlayerStore#UNSET} when the bot is outside all windows, or
+	 * {@link #NEVER} when its windows cover the whole day.
+	 */
+	private long resolveWindowEnd(int slot, long now) {
+		return resolveWindowEnd(store.windows[slot], now);
+	}
+
+	private long resolveWindowEnd(ActiveWindowIndex windows, long now) {
+		int minuteOfDay = clock.minuteOfDay(now);
+		int end = windows.windowEnd(minuteOfDay);
+		if (end < 0) {
+			return UNSET;
+		}
+		if (end == ActiveWindowIndex.NO_END) {
+			return NEVER;
 		}
-		return null;
+		return clock.plusMinutesFromMinuteStart(now, end - minuteOfDay);
 	}
 
-	private void scheduleNextBreak(FakePlayerProfile profile, LocalDateTime now, WindowInstance window) {
-		if (window == null) {
-			profile.nextBreakStart = null;
+	/**
+	 * Earliest moment at or after {@code now} when one of the bot's windows is open.
+	 */
+	private long nextWindowStart(int slot, long now) {
+		return nextWindowStart(store.windows[slot], now);
+	}
+
+	private long nextWindowStart(ActiveWindowIndex windows, long now) {
+		int wait = windows.minutesUntilOpen(clock.minuteOfDay(now));
+		if (wait < 0) {
+			return UNSET;
+		}
+		return wait == 0 ? now : clock.plusMinutesFromMinuteStart(now, wait);
+	}
+
+	/**
+	 * Plan the next login for an offline bot: a short stagger after now if a window is open, otherwise after the
+	 * next window opens.
+	 */
+	private void scheduleWindowEntry(int slot, long now) {
+		long start = nextWindowStart(slot, now);
+		// A generated bot whose window is over is dropped when its cohort closes and recreated when it reopens, so
+		// it must not park a deadline for tomorrow in the heap.
+		if (start == UNSET || (start != now && generatedSlots.get(slot))) {
+			return;
+		}
+		long login = start + random.nextInt(LOGIN_STAGGER_SECONDS + 1) * MILLIS_PER_SECOND;
+		store.nextLogin[slot] = login;
+		deadlines.push(login, slot, LOGIN);
+	}
+
+	private void scheduleNextBreak(int slot, long now, long windowEnd) {
+		if (windowEnd == UNSET) {
+			store.nextBreakStart[slot] = UNSET;
 			return;
 		}
-		int intervalMinutes = ThreadLocalRandom.current().nextInt(globalConfig.minIntervalMinutes, globalConfig.maxIntervalMinutes + 1);
-		LocalDateTime candidate = now.plusMinutes(intervalMinutes);
-		if (candidate.isBefore(window.end())) {
-			profile.nextBreakStart = candidate;
+		int intervalMinutes = random.nextInt(globalConfig.minIntervalMinutes, globalConfig.maxIntervalMinutes + 1);
+		long candidate = now + intervalMinutes * MILLIS_PER_MINUTE;
+		if (candidate < windowEnd) {
+			store.nextBreakStart[slot] = candidate;
+			deadlines.push(candidate, slot, BREAK_START);
 		} else {
-			profile.nextBreakStart = null;
+			store.nextBreakStart[slot] = UNSET;
 		}
 	}
 
-	private void scheduleNextDeath(FakePlayerProfile profile, LocalDateTime now) {
+	private void scheduleNextDeath(int slot, long now) {
 		if (globalConfig == null || globalConfig.maxDeathMinutes <= 0) {
-			profile.nextDeath = null;
+			store.nextDeath[slot] = UNSET;
 			return;
 		}
-		int minutes = ThreadLocalRandom.current().nextInt(globalConfig.minDeathMinutes, globalConfig.maxDeathMinutes + 1);
+		int minutes = random.nextInt(globalConfig.minDeathMinutes, globalConfig.maxDeathMinutes + 1);
 		// Avoid hammering chat if min is configured to 0; push at least 1 minute out.
 		if (minutes <= 0) {
 			minutes = 1;
 		}
-		profile.nextDeath = now.plusMinutes(minutes);
+		long death = now + minutes * MILLIS_PER_MINUTE;
+		store.nextDeath[slot] = death;
+		deadlines.push(death, slot, DEATH);
 	}
 
-	private void goOnline(FakePlayerProfile profile, LocalDateTime now, WindowInstance window, boolean fromBreak) {
-		if (profile.online) {
+	private void goOnline(int slot, long now, long windowEnd, boolean fromBreak) {
+		if (store.isOnline(slot)) {
 			return;
 		}
-		profile.online = true;
-		profile.inBreak = false;
-		profile.breakUntil = null;
-		profile.nextLogin = null;
-		if (window != null) {
-			profile.currentWindowEnd = window.end();
+		store.online.set(slot);
+		store.inBreak.clear(slot);
+		store.breakUntil[slot] = UNSET;
+		store.nextLogin[slot] = UNSET;
+		if (windowEnd != UNSET) {
+			store.windowEnd[slot] = windowEnd;
+			if (windowEnd != NEVER) {
+				deadlines.push(windowEnd, slot, WINDOW_END);
+			}
 		}
-		scheduleNextBreak(profile, now, window);
-		scheduleNextDeath(profile, now);
-		sendAddSnapshot();
-		sendJoinMessage(profile);
-		ExampleMod.refreshTabListForAllRealPlayers(this.server);
+		scheduleNextBreak(slot, now, windowEnd);
+		scheduleNextDeath(slot, now);
+		tabSync.markOnline(slot);
+		sendJoinMessage(slot);
+		observer.transition(now, store.ids[slot], fromBreak ? ScheduleObserver.Transition.BREAK_END : ScheduleObserver.Transition.LOGIN);
 	}
 
-	private void goOffline(FakePlayerProfile profile, LocalDateTime now) {
-		if (!profile.online && !profile.inBreak) {
+	private void goOffline(int slot, long now) {
+		if (!store.isOnlineOrInBreak(slot)) {
 			return;
 		}
-		boolean wasOnline = profile.online;
-		profile.online = false;
-		profile.inBreak = false;
-		profile.breakUntil = null;
-		profile.nextLogin = null;
-		profile.nextBreakStart = null;
-		profile.currentWindowEnd = null;
-		profile.nextDeath = null;
+		boolean wasOnline = store.isOnline(slot);
+		store.reset(slot);
 		if (wasOnline) {
-			sendRemove(profile);
-			sendLeaveMessage(profile);
-			ExampleMod.refreshTabListForAllRealPlayers(this.server);
+			tabSync.markOffline(slot);
+			sendLeaveMessage(slot);
+			observer.transition(now, store.ids[slot], ScheduleObserver.Transition.LOGOUT);
 		}
 	}
 
-	private void startBreak(FakePlayerProfile profile, LocalDateTime now, WindowInstance window) {
-		int durationMinutes = ThreadLocalRandom.current().nextInt(globalConfig.minBreakMinutes, globalConfig.maxBreakMinutes + 1);
-		LocalDateTime plannedEnd = now.plusMinutes(durationMinutes);
-		if (window != null && plannedEnd.isAfter(window.end())) {
+	private void startBreak(int slot, long now, long windowEnd) {
+		int durationMinutes = random.nextInt(globalConfig.minBreakMinutes, globalConfig.maxBreakMinutes + 1);
+		long plannedEnd = now + durationMinutes * MILLIS_PER_MINUTE;
+		if (windowEnd != UNSET && plannedEnd > windowEnd) {
 			// Break doesn't fit; stay online until window end.
-			profile.nextBreakStart = null;
+			store.nextBreakStart[slot] = UNSET;
 			return;
 		}
 
-		profile.inBreak = true;
-		profile.online = false;
-		profile.breakUntil = plannedEnd;
-		profile.nextLogin = plannedEnd;
-		profile.nextBreakStart = null;
-		profile.nextDeath = null;
-		sendRemove(profile);
-		sendLeaveMessage(profile);
-		ExampleMod.refreshTabListForAllRealPlayers(this.server);
+		store.inBreak.set(slot);
+		store.online.clear(slot);
+		store.breakUntil[slot] = plannedEnd;
+		store.nextLogin[slot] = plannedEnd;
+		store.nextBreakStart[slot] = UNSET;
+		store.nextDeath[slot] = UNSET;
+		deadlines.push(plannedEnd, slot, BREAK_END);
+		tabSync.markOffline(slot);
+		sendLeaveMessage(slot);
+		observer.transition(now, store.ids[slot], ScheduleObserver.Transition.BREAK_START);
 	}
 
-	private void endBreak(FakePlayerProfile profile, LocalDateTime now, WindowInstance window) {
-		profile.inBreak = false;
-		profile.breakUntil = null;
-		profile.nextLogin = null;
-		goOnline(profile, now, window, true);
+	private void endBreak(int slot, long now, long windowEnd) {
+		store.inBreak.clear(slot);
+		store.breakUntil[slot] = UNSET;
+		store.nextLogin[slot] = UNSET;
+		goOnline(slot, now, windowEnd, true);
 	}
 
-	private void deliverPendingChats(LocalDateTime now) {
-		if (pendingChats.isEmpty() || this.server == null) {
+	/**
+	 * Send the lines that are due, as one broadcast, as far as the chat rate limit allows. Lines held back by the
+	 * limit stay queued for a later tick.
+	 */
+	private void deliverPendingChats(long now) {
+		if (pendingChats.peekTime() > now || this.server == null) {
 			return;
 		}
 
-		pendingChats.removeIf(chat -> {
-			if (!now.isBefore(chat.when) && chat.speaker.online()) {
-				Component line = Component.literal("<" + chat.speaker.nameAndId().name() + "> " + chat.message);
-				this.server.getPlayerList().broadcastSystemMessage(line, false);
-				return true;
+		MutableComponent batch = null;
+		while (pendingChats.peekTime() <= now) {
+			int speaker = pendingChats.peekSpeaker();
+			// A speaker who logged off before their line was due just doesn't say it.
+			if (!store.isOnline(speaker) || now - pendingChats.peekTime() > MAX_CHAT_DELAY_MILLIS) {
+				pendingChats.poll();
+				continue;
 			}
-			return false;
-		});
-	}
-
-	private void sendAddSnapshot() {
-		if (this.server == null) {
-			return;
+			if (!chatLimiter.tryAcquire()) {
+				break;
+			}
+			Component line = MessageCatalog.chat(store.names[speaker], pendingChats.peekMessage());
+			pendingChats.poll();
+			batch = batch == null ? Component.empty().append(line) : batch.append("\n").append(line);
 		}
-		var entries = ExampleMod.getFakeTabEntries();
-		EnumSet<ClientboundPlayerInfoUpdatePacket.Action> actions = EnumSet.of(
-			ClientboundPlayerInfoUpdatePacket.Action.ADD_PLAYER,
-			ClientboundPlayerInfoUpdatePacket.Action.UPDATE_GAME_MODE,
-			ClientboundPlayerInfoUpdatePacket.Action.UPDATE_LISTED,
-			ClientboundPlayerInfoUpdatePacket.Action.UPDATE_LATENCY,
-			ClientboundPlayerInfoUpdatePacket.Action.UPDATE_DISPLAY_NAME
-		);
-
-		for (ServerPlayer viewer : this.server.getPlayerList().getPlayers()) {
-			ClientboundPlayerInfoUpdatePacket packet = new ClientboundPlayerInfoUpdatePacket(
-				actions,
-				Collections.emptyList()
-			);
-			var acc = (com.example.mixin.ClientboundPlayerInfoUpdatePacketAccessor) packet;
-			acc.setEntries(entries);
-			viewer.connection.send(packet);
+		if (batch != null) {
+			this.server.getPlayerList().broadcastSystemMessage(batch, false);
 		}
 	}
 
-	private LocalDateTime currentEasternTime() {
-		return LocalDateTime.now(EASTERN);
+	private void clearPendingChats() {
+		pendingChats.clear();
 	}
 
-	private void sendAddSnapshotTo(ServerPlayer player) {
-		if (this.server == null) {
-			return;
+	private void ensureChatLimiter(GlobalConfig config) {
+		int rate = config != null ? config.maxChatLinesPerMinute : 20;
+		if (chatLimiter == null || rate != chatLimiterRate) {
+			chatLimiter = new TokenBucket(CHAT_BURST, rate);
+			chatLimiterRate = rate;
 		}
-		var entries = ExampleMod.getFakeTabEntries();
-		EnumSet<ClientboundPlayerInfoUpdatePacket.Action> actions = EnumSet.of(
-			ClientboundPlayerInfoUpdatePacket.Action.ADD_PLAYER,
-			ClientboundPlayerInfoUpdatePacket.Action.UPDATE_GAME_MODE,
-			ClientboundPlayerInfoUpdatePacket.Action.UPDATE_LISTED,
-			ClientboundPlayerInfoUpdatePacket.Action.UPDATE_LATENCY,
-			ClientboundPlayerInfoUpdatePacket.Action.UPDATE_DISPLAY_NAME
-		);
-
-		ClientboundPlayerInfoUpdatePacket packet = new ClientboundPlayerInfoUpdatePacket(
-			actions,
-			Collections.emptyList()
-		);
-		var acc = (com.example.mixin.ClientboundPlayerInfoUpdatePacketAccessor) packet;
-		acc.setEntries(entries);
-		player.connection.send(packet);
-	}
-
-	private void sendRemove(FakePlayerProfile profile) {
-		if (this.server == null) {
-			return;
-		}
-		ClientboundPlayerInfoRemovePacket packet = new ClientboundPlayerInfoRemovePacket(Collections.singletonList(profile.nameAndId().id()));
-		this.server.getPlayerList().broadcastAll(packet);
 	}
 
-	private void sendJoinMessage(FakePlayerProfile profile) {
-		if (this.server == null) {
-			return;
+	private int nthOnline(int n) {
+		int slot = store.online.nextSetBit(0);
+		for (int i = 0; i < n; i++) {
+			slot = store.online.nextSetBit(slot + 1);
 		}
-		Component msg = Component.literal(profile.nameAndId().name() + " joined the game").withStyle(ChatFormatting.YELLOW);
-		this.server.getPlayerList().broadcastSystemMessage(msg, false);
+		return slot;
 	}
 
-	private void sendLeaveMessage(FakePlayerProfile profile) {
-		if (this.server == null) {
-			return;
-		}
-		Component msg = Component.literal(profile.nameAndId().name() + " left the game").withStyle(ChatFormatting.YELLOW);
-		this.server.getPlayerList().broadcastSystemMessage(msg, false);
+	private LocalDateTime toLocal(long epochMillis) {
+		return epochMillis == UNSET || epochMillis == NEVER ? null : clock.toLocal(epochMillis);
 	}
 
-	private void sendDeathMessage(FakePlayerProfile profile) {
+	private void sendJoinMessage(int slot) {
 		if (this.server == null) {
 			return;
 		}
-		String base = DEATH_MESSAGES.get(random.nextInt(DEATH_MESSAGES.size()));
-		String resolved = String.format(base, profile.nameAndId().name());
-		Component msg = Component.literal(resolved);
-		this.server.getPlayerList().broadcastSystemMessage(msg, false);
+		announcements.joined(store.names[slot]);
 	}
 
-	private void maybeTriggerDeath(FakePlayerProfile profile, LocalDateTime now) {
-		if (this.server == null || !profile.online || profile.nextDeath == null) {
-			return;
-		}
-		if (now.isBefore(profile.nextDeath)) {
+	private void sendLeaveMessage(int slot) {
+		if (this.server == null) {
 			return;
 		}
-		sendDeathMessage(profile);
-		scheduleNextDeath(profile, now);
+		announcements.left(store.names[slot]);
 	}
 
-	private record PendingChat(LocalDateTime when, FakePlayerProfile speaker, String message) {}
-
-	private record ActiveWindow(LocalTime start, LocalTime end) {}
-
-	private record WindowInstance(LocalDateTime start, LocalDateTime end) {}
-
-	private record SkinTextures(String value, String signature) {}
-
-	private static class FakePlayerProfile {
-		private final NameAndId nameAndId;
-		private final GameProfile profile;
-		private final ClientboundPlayerInfoUpdatePacket.Entry entry;
-		private final List<ActiveWindow> activeWindows;
-		private boolean online = false;
-		private boolean inBreak = false;
-		private LocalDateTime breakUntil = null;
-		private LocalDateTime nextLogin = null;
-		private LocalDateTime nextBreakStart = null;
-		private LocalDateTime currentWindowEnd = null;
-		private LocalDateTime nextDeath = null;
-
-		FakePlayerProfile(NameAndId nameAndId, GameProfile profile, ClientboundPlayerInfoUpdatePacket.Entry entry, List<ActiveWindow> activeWindows) {
-			this.nameAndId = nameAndId;
-			this.profile = profile;
-			this.entry = entry;
-			this.activeWindows = activeWindows;
-		}
-
-		NameAndId nameAndId() {
-			return nameAndId;
-		}
-
-		ClientboundPlayerInfoUpdatePacket.Entry entry() {
-			return entry;
-		}
-
-		boolean online() {
-			return online;
-		}
-
-		void resetState() {
-			resetScheduleState();
-			this.online = false;
-		}
-
-		void resetScheduleState() {
-			this.inBreak = false;
-			this.breakUntil = null;
-			this.nextLogin = null;
-			this.nextBreakStart = null;
-			this.currentWindowEnd = null;
-			this.nextDeath = null;
+	private void sendDeathMessage(int slot) {
+		if (this.server == null) {
+			return;
 		}
+		Component msg = MessageCatalog.death(random.nextInt(MessageCatalog.deathTypeCount()), store.names[slot]);
+		this.server.getPlayerList().broadcastSystemMessage(msg, false);
 	}
 
 	public record FakePlayerStatus(
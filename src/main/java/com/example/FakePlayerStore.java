@@ -0,0 +1,200 @@
+package com.example;
+
+import com.mojang.authlib.GameProfile;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.game.ClientboundPlayerInfoUpdatePacket;
+import net.minecraft.server.players.NameAndId;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Struct-of-arrays roster: one slot per configured bot, indexed by a stable int.
+ * <p>
+ * Timing fields are epoch millis in flat {@code long[]} columns with {@link #UNSET} standing in for "no deadline", and
+ * the online/break flags are bitsets, so walking or updating thousands of bots touches a few contiguous arrays and
+ * never allocates.
+ * <p>
+ * A bot keeps its slot for as long as it stays in the config. Removing one leaves a hole (cleared from {@link #live})
+ * that the next added bot reuses, so slot indices held by deadlines, chats and tab views never shift under them.
+ */
+final class FakePlayerStore {
+	static final long UNSET = Long.MIN_VALUE;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	NameAndId[] ids = new NameAndId[INITIAL_CAPACITY];
+	GameProfile[] profiles = new GameProfile[INITIAL_CAPACITY];
+	ClientboundPlayerInfoUpdatePacket.Entry[] entries = new ClientboundPlayerInfoUpdatePacket.Entry[INITIAL_CAPACITY];
+	// Display name built alongside the profile, shared by every broadcast that mentions the bot.
+	Component[] names = new Component[INITIAL_CAPACITY];
+	ActiveWindowIndex[] windows = new ActiveWindowIndex[INITIAL_CAPACITY];
+	CompiledBot[] definitions = new CompiledBot[INITIAL_CAPACITY];
+
+	long[] breakUntil = newTimes(INITIAL_CAPACITY);
+	long[] nextLogin = newTimes(INITIAL_CAPACITY);
+	long[] nextBreakStart = newTimes(INITIAL_CAPACITY);
+	long[] windowEnd = newTimes(INITIAL_CAPACITY);
+	long[] nextDeath = newTimes(INITIAL_CAPACITY);
+
+	final BitSet live = new BitSet();
+	final BitSet online = new BitSet();
+	final BitSet inBreak = new BitSet();
+
+	private final Map<UUID, Integer> slotsById = new HashMap<>();
+	// Lower-cased, as the client and the player list compare names case-insensitively.
+	private final Map<String, Integer> slotsByName = new HashMap<>();
+	private int[] freeSlots = new int[INITIAL_CAPACITY];
+	private int freeCount;
+	private int limit;
+
+	/**
+	 * Number of bots in the roster.
+	 */
+	int size() {
+		return slotsById.size();
+	}
+
+	boolean isEmpty() {
+		return slotsById.isEmpty();
+	}
+
+	boolean isLive(int index) {
+		return live.get(index);
+	}
+
+	/**
+	 * Slot holding the bot with this profile UUID, or -1.
+	 */
+	int indexOf(UUID id) {
+		Integer slot = slotsById.get(id);
+		return slot != null ? slot : -1;
+	}
+
+	/**
+	 * Slot holding a bot with this name in any letter case, or -1.
+	 */
+	int indexOfName(String name) {
+		Integer slot = slotsByName.get(name.toLowerCase(Locale.ROOT));
+		return slot != null ? slot : -1;
+	}
+
+	/**
+	 * Add a bot, reusing a freed slot if there is one, and return its slot index. Timing columns start out
+	 * {@link #UNSET}.
+	 */
+	int add(CompiledBot definition, GameProfile profile, ClientboundPlayerInfoUpdatePacket.Entry entry) {
+		int index;
+		if (freeCount > 0) {
+			index = freeSlots[--freeCount];
+		} else {
+			if (limit == ids.length) {
+				grow(limit * 2);
+			}
+			index = limit++;
+		}
+		ids[index] = definition.id();
+		profiles[index] = profile;
+		entries[index] = entry;
+		windows[index] = definition.windows();
+		definitions[index] = definition;
+		slotsById.put(definition.id().id(), index);
+		slotsByName.putIfAbsent(definition.id().name().toLowerCase(Locale.ROOT), index);
+		live.set(index);
+		reset(index);
+		return index;
+	}
+
+	/**
+	 * Drop a bot and free its slot for reuse. The caller must already have taken it offline and flushed that.
+	 */
+	void remove(int index) {
+		slotsById.remove(ids[index].id());
+		slotsByName.remove(ids[index].name().toLowerCase(Locale.ROOT), index);
+		ids[index] = null;
+		profiles[index] = null;
+		entries[index] = null;
+		names[index] = null;
+		windows[index] = null;
+		definitions[index] = null;
+		live.clear(index);
+		reset(index);
+		if (freeCount == freeSlots.length) {
+			freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+		}
+		freeSlots[freeCount++] = index;
+	}
+
+	/**
+	 * Give a bot a new profile name and UUID pair while it keeps its slot.
+	 */
+	void rename(int index, NameAndId id) {
+		slotsByName.remove(ids[index].name().toLowerCase(Locale.ROOT), index);
+		ids[index] = id;
+		slotsByName.putIfAbsent(id.name().toLowerCase(Locale.ROOT), index);
+	}
+
+	boolean isOnline(int index) {
+		return online.get(index);
+	}
+
+	boolean isInBreak(int index) {
+		return inBreak.get(index);
+	}
+
+	boolean isOnlineOrInBreak(int index) {
+		return online.get(index) || inBreak.get(index);
+	}
+
+	int onlineCount() {
+		return online.cardinality();
+	}
+
+	/**
+	 * Drop every pending deadline for the slot without touching the online flag.
+	 */
+	void resetSchedule(int index) {
+		inBreak.clear(index);
+		breakUntil[index] = UNSET;
+		nextLogin[index] = UNSET;
+		nextBreakStart[index] = UNSET;
+		windowEnd[index] = UNSET;
+		nextDeath[index] = UNSET;
+	}
+
+	void reset(int index) {
+		resetSchedule(index);
+		online.clear(index);
+	}
+
+	private void grow(int capacity) {
+		ids = Arrays.copyOf(ids, capacity);
+		profiles = Arrays.copyOf(profiles, capacity);
+		entries = Arrays.copyOf(entries, capacity);
+		names = Arrays.copyOf(names, capacity);
+		windows = Arrays.copyOf(windows, capacity);
+		definitions = Arrays.copyOf(definitions, capacity);
+		breakUntil = growTimes(breakUntil, capacity);
+		nextLogin = growTimes(nextLogin, capacity);
+		nextBreakStart = growTimes(nextBreakStart, capacity);
+		windowEnd = growTimes(windowEnd, capacity);
+		nextDeath = growTimes(nextDeath, capacity);
+	}
+
+	private static long[] newTimes(int capacity) {
+		long[] times = new long[capacity];
+		Arrays.fill(times, UNSET);
+		return times;
+	}
+
+	private static long[] growTimes(long[] times, int capacity) {
+		int oldLength = times.length;
+		long[] grown = Arrays.copyOf(times, capacity);
+		Arrays.fill(grown, oldLength, capacity, UNSET);
+		return grown;
+	}
+}
@@ -0,0 +1,83 @@
+package com.example;
+
+import net.minecraft.network.protocol.status.ServerStatus;
+import net.minecraft.server.players.NameAndId;
+import net.minecraft.server.players.PlayerList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Server-list status with fake players merged in.
+ * <p>
+ * Only the fake side is cached, keyed by roster version: vanilla reshuffles the real sample and may change the
+ * description, favicon, version or secure-chat flag on every status rebuild, so those are always taken from the status
+ * being decorated. Merging is a dozen list reads, and vanilla rebuilds the status only every few seconds anyway.
+ * <p>
+ * The sample is capped at vanilla's 12 entries: real players first, then fakes taken from a window that rotates each
+ * rebuild, so every fake name shows up in the hover list over time.
+ */
+final class FakeStatusCache {
+	private static final int SAMPLE_LIMIT = 12;
+
+	private volatile Cached cached;
+	private int rotation;
+
+	ServerStatus apply(ServerStatus status, PlayerList playerList, FakePlayerScheduler scheduler) {
+		long version = scheduler.getRosterVersion();
+		Cached current = cached;
+		if (current != null && current.rosterVersion() == version) {
+			FakeMetrics.STATUS_HITS.increment();
+		} else {
+			FakeMetrics.STATUS_REBUILDS.increment();
+			current = new Cached(version, scheduler.getActivePlayers());
+			cached = current;
+		}
+		return merge(status, current.fakes(), playerList.getPlayerCount(), playerList.getMaxPlayers());
+	}
+
+	void invalidate() {
+		cached = null;
+	}
+
+	private ServerStatus merge(ServerStatus status, List<NameAndId> fakes, int realCount, int configuredMax) {
+		int fakeCount = fakes.size();
+		int maxPlayers = Math.max(configuredMax, realCount + fakeCount);
+		List<NameAndId> real = status.players().map(ServerStatus.Players::sample).orElse(List.of());
+
+		List<NameAndId> sample = new ArrayList<>(Math.min(SAMPLE_LIMIT, real.size() + fakeCount));
+		for (NameAndId player : real) {
+			if (sample.size() == SAMPLE_LIMIT) {
+				break;
+			}
+			sample.add(player);
+		}
+		int realInSample = sample.size();
+
+		if (fakeCount > 0) {
+			int start = Math.floorMod(rotation, fakeCount);
+			rotation = start + SAMPLE_LIMIT;
+			for (int i = 0; i < fakeCount && sample.size() < SAMPLE_LIMIT; i++) {
+				NameAndId fake = fakes.get((start + i) % fakeCount);
+				if (!containsName(sample, realInSample, fake.name())) {
+					sample.add(fake);
+				}
+			}
+		}
+
+		ServerStatus.Players players = new ServerStatus.Players(maxPlayers, realCount + fakeCount, sample);
+		return new ServerStatus(status.description(), Optional.of(players), status.version(), status.favicon(), status.enforcesSecureChat());
+	}
+
+	private static boolean containsName(List<NameAndId> sample, int count, String name) {
+		for (int i = 0; i < count; i++) {
+			if (sample.get(i).name().equalsIgnoreCase(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private record Cached(long rosterVersion, List<NameAndId> fakes) {}
+}
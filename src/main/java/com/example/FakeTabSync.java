@@ -0,0 +1,306 @@
+package com.example;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.game.ClientboundPlayerInfoRemovePacket;
+import net.minecraft.network.protocol.game.ClientboundPlayerInfoUpdatePacket;
+import net.minecraft.network.protocol.game.ClientboundTabListPacket;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.players.PlayerList;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Collects fake player tab transitions during a tick and flushes them as a single delta.
+ * <p>
+ * A bot that goes online and back offline (or the reverse) inside one tick cancels out, so each flush sends at most one
+ * {@link ClientboundPlayerInfoRemovePacket} and one {@link ClientboundPlayerInfoUpdatePacket} holding only the entries
+ * that actually changed. The header/footer count goes out only when the total changed, and to players who just joined.
+ * <p>
+ * Each real player's view is tracked as a bitset of the slots it has been sent. A joining player gets one snapshot
+ * and everyone else only a count update; a viewer whose view drifted from the shared delta gets a filtered copy.
+ * <p>
+ * Packets that go to more than one connection (the join snapshot, the shared delta, the count) are wrapped in
+ * {@link SharedPacket}, so each is serialized once no matter how many viewers receive it. The snapshot is cached per
+ * {@link #rosterVersion()}.
+ */
+final class FakeTabSync {
+	private static final EnumSet<ClientboundPlayerInfoUpdatePacket.Action> ADD_ACTIONS = EnumSet.of(
+		ClientboundPlayerInfoUpdatePacket.Action.ADD_PLAYER,
+		ClientboundPlayerInfoUpdatePacket.Action.UPDATE_GAME_MODE,
+		ClientboundPlayerInfoUpdatePacket.Action.UPDATE_LISTED,
+		ClientboundPlayerInfoUpdatePacket.Action.UPDATE_LATENCY,
+		ClientboundPlayerInfoUpdatePacket.Action.UPDATE_DISPLAY_NAME
+	);
+
+	private final FakePlayerStore store;
+	private final BitSet pendingAdds = new BitSet();
+	private final BitSet pendingRemoves = new BitSet();
+	// Slots whose entry was replaced this tick, so the copy viewers hold is stale even if the bot ends up online.
+	private final BitSet changedEntries = new BitSet();
+	private final Map<UUID, BitSet> viewers = new HashMap<>();
+	private final Set<UUID> needCount = new HashSet<>();
+	private final BitSet scratch = new BitSet();
+	private final BitSet kept = new BitSet();
+	private boolean countDirty;
+	private int sentCount = -1;
+	private long rosterVersion;
+	private SharedPacket snapshot;
+	private long snapshotVersion = -1;
+
+	FakeTabSync(FakePlayerStore store) {
+		this.store = store;
+	}
+
+	/**
+	 * Counter bumped whenever the set of online fake entries (or one of their entries) changes.
+	 */
+	long rosterVersion() {
+		return rosterVersion;
+	}
+
+	void markOnline(int slot) {
+		rosterVersion++;
+		if (pendingRemoves.get(slot) && !changedEntries.get(slot)) {
+			// Viewers still have the entry from before this tick.
+			pendingRemoves.clear(slot);
+		} else {
+			pendingAdds.set(slot);
+		}
+	}
+
+	/**
+	 * The slot's entry was replaced (e.g. textures arrived). Viewers holding the old entry get it removed and re-added,
+	 * since the client only reads skin properties when an entry is added.
+	 */
+	void markEntryChanged(int slot) {
+		rosterVersion++;
+		changedEntries.set(slot);
+		if (store.isOnline(slot) && !pendingAdds.get(slot)) {
+			pendingRemoves.set(slot);
+			pendingAdds.set(slot);
+		}
+	}
+
+	void markOffline(int slot) {
+		rosterVersion++;
+		if (pendingAdds.get(slot)) {
+			// Viewers never saw this entry.
+			pendingAdds.clear(slot);
+		} else {
+			pendingRemoves.set(slot);
+		}
+	}
+
+	boolean hasPending() {
+		return !pendingAdds.isEmpty() || !pendingRemoves.isEmpty();
+	}
+
+	/**
+	 * Send a newly joined player the current fake roster and start tracking its view. Other viewers only need the
+	 * new total, which goes out with the next flush.
+	 */
+	void addViewer(ServerPlayer viewer) {
+		BitSet sent = (BitSet) store.online.clone();
+		viewers.put(viewer.getUUID(), sent);
+		if (!sent.isEmpty()) {
+			snapshot().send(viewer);
+			FakeMetrics.tabPacketSent(sent.cardinality());
+		}
+		needCount.add(viewer.getUUID());
+		countDirty = true;
+	}
+
+	/**
+	 * Drop the cached snapshot buffer, e.g. on shutdown.
+	 */
+	void release() {
+		if (snapshot != null) {
+			snapshot.release();
+			snapshot = null;
+		}
+		snapshotVersion = -1;
+	}
+
+	private SharedPacket snapshot() {
+		if (snapshot == null || snapshotVersion != rosterVersion) {
+			release();
+			snapshot = new SharedPacket(addPacket(entriesOf(store.online)));
+			snapshotVersion = rosterVersion;
+		}
+		return snapshot;
+	}
+
+	void removeViewer(ServerPlayer viewer) {
+		viewers.remove(viewer.getUUID());
+		needCount.remove(viewer.getUUID());
+		countDirty = true;
+	}
+
+	/**
+	 * Throw away every viewer's tracked state and send each one a fresh snapshot, removing what it had first.
+	 */
+	void resyncAll(MinecraftServer server) {
+		clear();
+		for (ServerPlayer viewer : server.getPlayerList().getPlayers()) {
+			BitSet sent = viewers.remove(viewer.getUUID());
+			if (sent != null && !sent.isEmpty()) {
+				viewer.connection.send(new ClientboundPlayerInfoRemovePacket(idsOf(sent)));
+				FakeMetrics.tabPacketSent(sent.cardinality());
+			}
+			addViewer(viewer);
+		}
+		flush(server);
+	}
+
+	/**
+	 * Forget queued changes without sending them, e.g. once slot indices are about to be reassigned.
+	 */
+	void clear() {
+		pendingAdds.clear();
+		pendingRemoves.clear();
+		changedEntries.clear();
+	}
+
+	/**
+	 * Broadcast everything queued since the last flush to every real player.
+	 */
+	void flush(MinecraftServer server) {
+		boolean changed = hasPending();
+		if (!changed && !countDirty) {
+			return;
+		}
+		if (server == null) {
+			clear();
+			countDirty = false;
+			return;
+		}
+		PlayerList players = server.getPlayerList();
+		SharedPacket sharedRemove = pendingRemoves.isEmpty() ? null : new SharedPacket(new ClientboundPlayerInfoRemovePacket(idsOf(pendingRemoves)));
+		SharedPacket sharedAdd = pendingAdds.isEmpty() ? null : new SharedPacket(addPacket(entriesOf(pendingAdds)));
+		int total = players.getPlayerCount() + store.onlineCount();
+		boolean countChanged = total != sentCount;
+		SharedPacket count = countChanged || !needCount.isEmpty() ? new SharedPacket(countPacket(total)) : null;
+		int removeEntries = pendingRemoves.cardinality();
+		int addEntries = pendingAdds.cardinality();
+
+		for (ServerPlayer viewer : players.getPlayers()) {
+			BitSet sent = viewers.get(viewer.getUUID());
+			if (changed && sent != null) {
+				if (matchesSharedDelta(sent)) {
+					if (sharedRemove != null) {
+						sharedRemove.send(viewer);
+						FakeMetrics.tabPacketSent(removeEntries);
+					}
+					if (sharedAdd != null) {
+						sharedAdd.send(viewer);
+						FakeMetrics.tabPacketSent(addEntries);
+					}
+				} else {
+					sendFilteredDelta(viewer, sent);
+				}
+				sent.andNot(pendingRemoves);
+				sent.or(pendingAdds);
+			}
+			if (count != null && (countChanged || needCount.contains(viewer.getUUID()))) {
+				count.send(viewer);
+				FakeMetrics.tabPacketSent(0);
+			}
+		}
+
+		if (sharedRemove != null) {
+			sharedRemove.release();
+		}
+		if (sharedAdd != null) {
+			sharedAdd.release();
+		}
+		if (count != null) {
+			count.release();
+		}
+		sentCount = total;
+		needCount.clear();
+		clear();
+		countDirty = false;
+	}
+
+	/**
+	 * True when the viewer holds every entry being removed and, once those are gone, none of the entries being added.
+	 * Removes are applied before adds, so a re-added (refreshed) entry counts as missing.
+	 */
+	private boolean matchesSharedDelta(BitSet sent) {
+		scratch.clear();
+		scratch.or(pendingRemoves);
+		scratch.andNot(sent);
+		if (!scratch.isEmpty()) {
+			return false;
+		}
+		scratch.clear();
+		scratch.or(pendingAdds);
+		scratch.andNot(pendingRemoves);
+		return !scratch.intersects(sent);
+	}
+
+	private void sendFilteredDelta(ServerPlayer viewer, BitSet sent) {
+		scratch.clear();
+		scratch.or(pendingRemoves);
+		scratch.and(sent);
+		if (!scratch.isEmpty()) {
+			viewer.connection.send(new ClientboundPlayerInfoRemovePacket(idsOf(scratch)));
+			FakeMetrics.tabPacketSent(scratch.cardinality());
+		}
+		kept.clear();
+		kept.or(sent);
+		kept.andNot(pendingRemoves);
+		scratch.clear();
+		scratch.or(pendingAdds);
+		scratch.andNot(kept);
+		if (!scratch.isEmpty()) {
+			viewer.connection.send(addPacket(entriesOf(scratch)));
+			FakeMetrics.tabPacketSent(scratch.cardinality());
+		}
+	}
+
+	private List<UUID> idsOf(BitSet slots) {
+		List<UUID> ids = new ArrayList<>(slots.cardinality());
+		for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+			ids.add(store.ids[slot].id());
+		}
+		return ids;
+	}
+
+	private List<ClientboundPlayerInfoUpdatePacket.Entry> entriesOf(BitSet slots) {
+		List<ClientboundPlayerInfoUpdatePacket.Entry> entries = new ArrayList<>(slots.cardinality());
+		for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+			entries.add(store.entries[slot]);
+		}
+		return entries;
+	}
+
+	/**
+	 * Player info packet that adds the given fake entries.
+	 */
+	static ClientboundPlayerInfoUpdatePacket addPacket(List<ClientboundPlayerInfoUpdatePacket.Entry> entries) {
+		ClientboundPlayerInfoUpdatePacket packet = new ClientboundPlayerInfoUpdatePacket(ADD_ACTIONS, Collections.emptyList());
+		var acc = (com.example.mixin.ClientboundPlayerInfoUpdatePacketAccessor) packet;
+		acc.setEntries(entries);
+		return packet;
+	}
+
+	/**
+	 * Header/footer packet showing the combined real + fake player count.
+	 */
+	static ClientboundTabListPacket countPacket(int total) {
+		Component header = Component.literal("Welcome");
+		Component footer = Component.literal("Players online: " + total);
+		return new ClientboundTabListPacket(header, footer);
+	}
+}
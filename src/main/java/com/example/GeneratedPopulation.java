@@ -0,0 +1,428 @@
+package com.example;
+
+import com.example.config.GeneratorConfig;
+import com.example.config.WindowDistributionConfig;
+import com.google.gson.Gson;
+import net.minecraft.server.players.NameAndId;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Compiled form of the config's generator sections.
+ * <p>
+ * Each generator's bots are split into cohorts of contiguous indices. A cohort stores only its index range and one
+ * shared {@link ActiveWindowIndex}; an individual bot's {@link CompiledBot} is derived on demand from
+ * {@code (seed, id, index)}, so it is the same on every load and costs nothing until the scheduler materializes the
+ * cohort. Memory here is per cohort, not per bot.
+ * <p>
+ * Names are unique across the population without a lookup table: each generator maps its bot indices one-to-one onto
+ * (pool name, number) pairs, and generators draw their numbers from disjoint ranges. Pool names are shortened to fit
+ * the 16 character limit before numbering, and names that become equal are merged so no two pairs print alike.
+ */
+final class GeneratedPopulation {
+	private static final Gson GSON = new Gson();
+	private static final int MAX_COHORT_SIZE = 1024;
+	private static final int MAX_NAME_LENGTH = 16;
+
+	static final GeneratedPopulation EMPTY = new GeneratedPopulation(List.of(), new Generator[0], new int[0], new int[0], new int[0], new ActiveWindowIndex[0]);
+
+	private final String signature;
+	private final Generator[] generators;
+	private final int[] cohortGenerator;
+	private final int[] cohortFirst;
+	private final int[] cohortSize;
+	private final ActiveWindowIndex[] cohortWindows;
+
+	private GeneratedPopulation(List<GeneratorConfig> sources, Generator[] generators, int[] cohortGenerator, int[] cohortFirst, int[] cohortSize, ActiveWindowIndex[] cohortWindows) {
+		this.signature = GSON.toJson(sources);
+		this.generators = generators;
+		this.cohortGenerator = cohortGenerator;
+		this.cohortFirst = cohortFirst;
+		this.cohortSize = cohortSize;
+		this.cohortWindows = cohortWindows;
+	}
+
+	/**
+	 * Validate and compile generator sections; problems are logged and the offending generator or entry skipped.
+	 */
+	static GeneratedPopulation compile(List<GeneratorConfig> configs) {
+		if (configs == null || configs.isEmpty()) {
+			return EMPTY;
+		}
+		List<Generator> generators = new ArrayList<>();
+		Set<String> ids = new HashSet<>();
+		int cohorts = 0;
+		for (GeneratorConfig config : configs) {
+			if (config == null || !config.enabled || config.count <= 0) {
+				continue;
+			}
+			String id = config.id == null || config.id.isBlank() ? "generated" : config.id;
+			if (!ids.add(id)) {
+				ExampleMod.LOGGER.warn("[FakePlayers] Duplicate generator id {}, keeping the first one.", id);
+				continue;
+			}
+			Generator generator = Generator.compile(id, config);
+			if (generator != null) {
+				generators.add(generator);
+				cohorts += (config.count + generator.cohortSize - 1) / generator.cohortSize;
+			}
+		}
+
+		// Give every generator its own run of name numbers, all printed at one width. Shortening pool names to fit that
+		// width can merge two of them, which needs more numbers and maybe a wider one, so repeat until nothing changes.
+		int digitFloor;
+		boolean changed;
+		do {
+			int numbers = 0;
+			for (Generator generator : generators) {
+				numbers += generator.numbersNeeded();
+			}
+			digitFloor = 10;
+			while (digitFloor <= Integer.MAX_VALUE / 10 && 9L * digitFloor < numbers) {
+				digitFloor *= 10;
+			}
+			changed = false;
+			for (Generator generator : generators) {
+				changed |= generator.fitNames(Integer.toString(digitFloor).length());
+			}
+		} while (changed);
+		int numberOffset = 0;
+		for (Generator generator : generators) {
+			generator.assignNumbers(digitFloor, numberOffset);
+			numberOffset += generator.numbersNeeded();
+		}
+
+		int[] cohortGenerator = new int[cohorts];
+		int[] cohortFirst = new int[cohorts];
+		int[] cohortSize = new int[cohorts];
+		ActiveWindowIndex[] cohortWindows = new ActiveWindowIndex[cohorts];
+		int cohort = 0;
+		for (int g = 0; g < generators.size(); g++) {
+			Generator generator = generators.get(g);
+			for (int first = 0; first < generator.count; first += generator.cohortSize) {
+				cohortGenerator[cohort] = g;
+				cohortFirst[cohort] = first;
+				cohortSize[cohort] = Math.min(generator.cohortSize, generator.count - first);
+				cohortWindows[cohort] = generator.cohortWindow(first / generator.cohortSize);
+				cohort++;
+			}
+		}
+		return new GeneratedPopulation(configs, generators.toArray(new Generator[0]), cohortGenerator, cohortFirst, cohortSize, cohortWindows);
+	}
+
+	int cohortCount() {
+		return cohortWindows.length;
+	}
+
+	int cohortSize(int cohort) {
+		return cohortSize[cohort];
+	}
+
+	ActiveWindowIndex window(int cohort) {
+		return cohortWindows[cohort];
+	}
+
+	/**
+	 * Total number of generated bots across all cohorts.
+	 */
+	int population() {
+		int total = 0;
+		for (Generator generator : generators) {
+			total += generator.count;
+		}
+		return total;
+	}
+
+	/**
+	 * Definition of the {@code member}-th bot of a cohort.
+	 */
+	CompiledBot bot(int cohort, int member) {
+		Generator generator = generators[cohortGenerator[cohort]];
+		return generator.bot(cohortFirst[cohort] + member, cohortWindows[cohort]);
+	}
+
+	/**
+	 * Two populations are equal when they were compiled from identical generator sections.
+	 */
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof GeneratedPopulation population && signature.equals(population.signature);
+	}
+
+	@Override
+	public int hashCode() {
+		return signature.hashCode();
+	}
+
+	private static final class Generator {
+		private static final long COHORT_SALT = 0x636f686f7274L;
+		private static final long BOT_SALT = 0x626f74L;
+		private static final long NAME_SALT = 0x6e616d65L;
+
+		private final String id;
+		private final long seed;
+		private final int count;
+		private final int cohortSize;
+		private final String template;
+		private String[] names;
+		private final int[] starts;
+		private final int[] ends;
+		private final int[] jitters;
+		private final int[] cumulativeWeights;
+		private final UUID[] skins;
+		// Set by compile() after every generator is known.
+		private int nameStride = 1;
+		private int digitFloor = 10;
+		private int numberOffset;
+
+		private Generator(String id, GeneratorConfig config, String[] names, int[] starts, int[] ends, int[] jitters, int[] cumulativeWeights, UUID[] skins) {
+			this.id = id;
+			this.seed = config.seed ^ hash(id);
+			this.count = config.count;
+			this.cohortSize = Math.max(1, Math.min(MAX_COHORT_SIZE, config.cohortSize));
+			String template = config.nameTemplate == null || config.nameTemplate.isBlank() ? "{name}{digits}" : config.nameTemplate;
+			if (!template.contains("{digits}") && !template.contains("{index}")) {
+				ExampleMod.LOGGER.warn("[FakePlayers] Generator {}: name template {} has no {digits} or {index}, appending {digits} to keep names unique.", id, template);
+				template += "{digits}";
+			}
+			this.template = template;
+			this.names = names;
+			this.starts = starts;
+			this.ends = ends;
+			this.jitters = jitters;
+			this.cumulativeWeights = cumulativeWeights;
+			this.skins = skins;
+		}
+
+		static Generator compile(String id, GeneratorConfig config) {
+			List<WindowDistributionConfig> windows = config.windows == null ? List.of() : config.windows;
+			int[] starts = new int[windows.size()];
+			int[] ends = new int[windows.size()];
+			int[] jitters = new int[windows.size()];
+			int[] cumulativeWeights = new int[windows.size()];
+			int valid = 0;
+			int totalWeight = 0;
+			for (WindowDistributionConfig window : windows) {
+				if (window == null || window.startTime == null || window.endTime == null || window.weight <= 0) {
+					continue;
+				}
+				int start = RosterLoader.parseMinuteOfDay(window.startTime);
+				int end = RosterLoader.parseMinuteOfDay(window.endTime);
+				if (start < 0 || end < 0) {
+					ExampleMod.LOGGER.warn("[FakePlayers] Generator {}: invalid window time {} - {}", id, window.startTime, window.endTime);
+					continue;
+				}
+				totalWeight += window.weight;
+				starts[valid] = start;
+				ends[valid] = end;
+				jitters[valid] = Math.max(0, Math.min(ActiveWindowIndex.MINUTES_PER_DAY / 2, window.jitterMinutes));
+				cumulativeWeights[valid] = totalWeight;
+				valid++;
+			}
+			if (valid == 0) {
+				ExampleMod.LOGGER.warn("[FakePlayers] Generator {} has no valid windows, skipping it.", id);
+				return null;
+			}
+
+			// Minecraft names compare case-insensitively, so "Alex" and "alex" are one pool entry.
+			Map<String, String> pool = new LinkedHashMap<>();
+			if (config.namePool != null) {
+				for (String name : config.namePool) {
+					if (name != null && !name.isBlank()) {
+						pool.putIfAbsent(name.toLowerCase(Locale.ROOT), name);
+					}
+				}
+			}
+			String[] names = pool.values().toArray(new String[0]);
+			if (names.length == 0) {
+				names = new String[] {"Player"};
+			}
+			List<UUID> skins = new ArrayList<>();
+			if (config.skinPool != null) {
+				for (String raw : config.skinPool) {
+					try {
+						skins.add(UUID.fromString(raw));
+					} catch (IllegalArgumentException | NullPointerException e) {
+						ExampleMod.LOGGER.warn("[FakePlayers] Generator {}: invalid skin UUID {}", id, raw);
+					}
+				}
+			}
+			return new Generator(
+				id,
+				config,
+				names,
+				Arrays.copyOf(starts, valid),
+				Arrays.copyOf(ends, valid),
+				Arrays.copyOf(jitters, valid),
+				Arrays.copyOf(cumulativeWeights, valid),
+				skins.toArray(new UUID[0])
+			);
+		}
+
+		ActiveWindowIndex cohortWindow(int cohortIndex) {
+			SplittableRandom random = new SplittableRandom(mix(seed, COHORT_SALT, cohortIndex));
+			int pick = Arrays.binarySearch(cumulativeWeights, random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]) + 1);
+			int distribution = pick >= 0 ? pick : -pick - 1;
+			int jitter = jitters[distribution];
+			int start = shift(starts[distribution], random, jitter);
+			int end = shift(ends[distribution], random, jitter);
+			return ActiveWindowIndex.compile(new int[] {start}, new int[] {end}, 1);
+		}
+
+		/**
+		 * Numbers this generator needs so that every bot gets its own (pool name, number) pair.
+		 */
+		int numbersNeeded() {
+			return (count + names.length - 1) / names.length;
+		}
+
+		/**
+		 * Shorten pool names so a name printed with {@code digitWidth} digits fits Minecraft's limit, dropping names
+		 * that become case-insensitively equal to an earlier one. Returns whether the pool changed.
+		 */
+		boolean fitNames(int digitWidth) {
+			int fixed = 0;
+			int bases = 0;
+			int i = 0;
+			while (i < template.length()) {
+				if (template.startsWith("{name}", i)) {
+					bases++;
+					i += 6;
+				} else if (template.startsWith("{digits}", i)) {
+					fixed += digitWidth;
+					i += 8;
+				} else if (template.startsWith("{index}", i)) {
+					fixed += Integer.toString(count - 1).length();
+					i += 7;
+				} else {
+					fixed++;
+					i++;
+				}
+			}
+			if (bases == 0) {
+				return false;
+			}
+			int width = Math.max(1, (MAX_NAME_LENGTH - fixed) / bases);
+			Map<String, String> pool = new LinkedHashMap<>();
+			for (String name : names) {
+				String base = name.length() > width ? name.substring(0, width) : name;
+				String kept = pool.putIfAbsent(base.toLowerCase(Locale.ROOT), base);
+				if (kept != null) {
+					ExampleMod.LOGGER.warn("[FakePlayers] Generator {}: pool name {} shortens to {} like an earlier name, using it once.", id, name, kept);
+				}
+			}
+			String[] fitted = pool.values().toArray(new String[0]);
+			if (Arrays.equals(fitted, names)) {
+				return false;
+			}
+			names = fitted;
+			return true;
+		}
+
+		void assignNumbers(int digitFloor, int numberOffset) {
+			this.digitFloor = digitFloor;
+			this.numberOffset = numberOffset;
+			this.nameStride = stride(mix(seed, NAME_SALT, 0), namesSpace());
+		}
+
+		CompiledBot bot(int index, ActiveWindowIndex window) {
+			SplittableRandom random = new SplittableRandom(mix(seed, BOT_SALT, index));
+			String name = expand(index);
+			UUID skin = skins.length == 0 ? null : skins[random.nextInt(skins.length)];
+			// Identity follows the generator slot, not the name, so renaming the pool keeps UUIDs stable.
+			UUID uuid = UUID.nameUUIDFromBytes(("fakebot:gen:" + id + ":" + index).getBytes(StandardCharsets.UTF_8));
+			return new CompiledBot(new NameAndId(uuid, name), window, skin, null);
+		}
+
+		/**
+		 * Name of bot {@code index}. An affine permutation scatters indices over the name x number grid; it is a
+		 * bijection, so no two bots of this generator share a pair, yet neighbouring indices look unrelated.
+		 */
+		private String expand(int index) {
+			int cell = (int) ((nameStride * (long) index + (seed & Integer.MAX_VALUE)) % namesSpace());
+			String base = names[cell % names.length];
+			String digits = Integer.toString(digitFloor + numberOffset + cell / names.length);
+			String position = Integer.toString(index);
+			// fitNames() already shortened the pool names, so only an oversized template can still be cut here.
+			StringBuilder name = new StringBuilder(MAX_NAME_LENGTH);
+			int i = 0;
+			while (i < template.length() && name.length() < MAX_NAME_LENGTH) {
+				if (template.startsWith("{name}", i)) {
+					name.append(base);
+					i += 6;
+				} else if (template.startsWith("{digits}", i)) {
+					name.append(digits);
+					i += 8;
+				} else if (template.startsWith("{index}", i)) {
+					name.append(position);
+					i += 7;
+				} else {
+					name.append(template.charAt(i++));
+				}
+			}
+			return name.length() > MAX_NAME_LENGTH ? name.substring(0, MAX_NAME_LENGTH) : name.toString();
+		}
+
+		private int namesSpace() {
+			return names.length * numbersNeeded();
+		}
+
+		/**
+		 * A multiplier coprime to {@code space}, so {@code index * stride mod space} visits every cell once.
+		 */
+		private static int stride(long bits, int space) {
+			if (space <= 1) {
+				return 1;
+			}
+			int stride = (int) Math.floorMod(bits, (long) space);
+			while (gcd(stride, space) != 1) {
+				stride = stride + 1 == space ? 1 : stride + 1;
+			}
+			return stride;
+		}
+
+		private static int gcd(int a, int b) {
+			while (b != 0) {
+				int t = a % b;
+				a = b;
+				b = t;
+			}
+			return a;
+		}
+
+		private static int shift(int minute, SplittableRandom random, int jitter) {
+			if (jitter == 0) {
+				return minute;
+			}
+			return Math.floorMod(minute + random.nextInt(-jitter, jitter + 1), ActiveWindowIndex.MINUTES_PER_DAY);
+		}
+
+		private static long hash(String value) {
+			long h = 1125899906842597L;
+			for (int i = 0; i < value.length(); i++) {
+				h = 31 * h + value.charAt(i);
+			}
+			return h;
+		}
+
+		/**
+		 * SplitMix64 finalizer over the inputs, so neighbouring indices get unrelated streams.
+		 */
+		private static long mix(long seed, long salt, long index) {
+			long z = seed + salt * 0x9E3779B97F4A7C15L + index * 0xBF58476D1CE4E5B9L;
+			z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+			z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+			return z ^ (z >>> 31);
+		}
+	}
+}
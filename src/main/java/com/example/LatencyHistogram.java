@@ -0,0 +1,88 @@
+package com.example;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with power-of-two nanosecond buckets.
+ * <p>
+ * Recording is three atomic adds and a max update, with no allocation and no lock, so it can stay on in production and
+ * be fed from any thread. Percentiles are reported as the upper bound of the bucket they fall in, which is within a
+ * factor of two and plenty to tell a 0.05 ms tick from a 5 ms one.
+ */
+final class LatencyHistogram {
+	private static final int BUCKETS = 64;
+
+	// Bucket i counts samples in [2^(i-1), 2^i) nanos; bucket 0 holds zero.
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong totalNanos = new AtomicLong();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	void record(long nanos) {
+		long value = Math.max(0L, nanos);
+		buckets.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value)));
+		count.incrementAndGet();
+		totalNanos.addAndGet(value);
+		maxNanos.accumulateAndGet(value, Math::max);
+	}
+
+	long count() {
+		return count.get();
+	}
+
+	long meanNanos() {
+		long samples = count.get();
+		return samples == 0 ? 0L : totalNanos.get() / samples;
+	}
+
+	long maxNanos() {
+		return maxNanos.get();
+	}
+
+	/**
+	 * Upper bound of the bucket holding the {@code quantile} sample, e.g. 0.99 for p99; 0 when empty.
+	 */
+	long percentileNanos(double quantile) {
+		long samples = 0L;
+		long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets.get(i);
+			samples += counts[i];
+		}
+		if (samples == 0) {
+			return 0L;
+		}
+		long rank = Math.max(1L, (long) Math.ceil(quantile * samples));
+		long seen = 0L;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return i == 0 ? 0L : Math.min(maxNanos.get(), i == 63 ? Long.MAX_VALUE : (1L << i) - 1);
+			}
+		}
+		return maxNanos.get();
+	}
+
+	void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets.set(i, 0L);
+		}
+		count.set(0L);
+		totalNanos.set(0L);
+		maxNanos.set(0L);
+	}
+
+	/**
+	 * One-line summary in milliseconds for command output.
+	 */
+	String describe() {
+		return String.format(Locale.ROOT, "n=%d mean=%.3fms p50<=%.3fms p99<=%.3fms max=%.3fms",
+			count(), millis(meanNanos()), millis(percentileNanos(0.50)), millis(percentileNanos(0.99)), millis(maxNanos()));
+	}
+
+	static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+}
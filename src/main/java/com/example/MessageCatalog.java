@@ -0,0 +1,95 @@
+package com.example;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.ClickEvent;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.HoverEvent;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.world.entity.EntityType;
+
+import java.util.UUID;
+
+/**
+ * Broadcast messages for fake players, built from the same translation keys vanilla uses.
+ * <p>
+ * Clients localize translatable components themselves, so the messages read like real ones in every language and
+ * only the key and arguments go over the wire. Everything that does not depend on the bot (keys, killer names) is
+ * built once here; the bot's own name component is built once per profile by {@link #playerName}.
+ */
+final class MessageCatalog {
+	private static final DeathMessage[] DEATHS = {
+		DeathMessage.of("death.fell.accident.generic"),
+		DeathMessage.of("death.attack.lava"),
+		DeathMessage.of("death.attack.mob", EntityType.ZOMBIE),
+		DeathMessage.of("death.attack.drown"),
+		DeathMessage.of("death.attack.arrow", EntityType.SKELETON),
+		DeathMessage.of("death.attack.inWall"),
+		DeathMessage.of("death.attack.mob", EntityType.ENDERMAN),
+		DeathMessage.of("death.attack.fall"),
+		DeathMessage.of("death.attack.onFire"),
+		DeathMessage.of("death.attack.mob", EntityType.SPIDER),
+		DeathMessage.of("death.attack.trident", EntityType.DROWNED),
+		DeathMessage.of("death.attack.explosion.player", EntityType.CREEPER)
+	};
+
+	private MessageCatalog() {}
+
+	/**
+	 * Name component styled like a real player's display name: click to start a whisper, hover for the entity
+	 * tooltip, shift-click to insert the name.
+	 */
+	static Component playerName(UUID id, String name) {
+		return Component.literal(name).withStyle(style -> style
+			.withClickEvent(new ClickEvent.SuggestCommand("/tell " + name + " "))
+			.withHoverEvent(new HoverEvent.ShowEntity(new HoverEvent.EntityTooltipInfo(EntityType.PLAYER, id, Component.literal(name))))
+			.withInsertion(name));
+	}
+
+	static Component joined(Component name) {
+		return Component.translatable("multiplayer.player.joined", name).withStyle(ChatFormatting.YELLOW);
+	}
+
+	static Component left(Component name) {
+		return Component.translatable("multiplayer.player.left", name).withStyle(ChatFormatting.YELLOW);
+	}
+
+	/**
+	 * Stand-in for {@code count} join messages. Vanilla has no key for this, so it is a plain literal.
+	 */
+	static Component joinedSummary(int count) {
+		return Component.literal(count + " players joined the game").withStyle(ChatFormatting.YELLOW);
+	}
+
+	static Component leftSummary(int count) {
+		return Component.literal(count + " players left the game").withStyle(ChatFormatting.YELLOW);
+	}
+
+	static int deathTypeCount() {
+		return DEATHS.length;
+	}
+
+	static Component death(int type, Component name) {
+		return DEATHS[type].format(name);
+	}
+
+	/**
+	 * A line of chat as vanilla's default chat type renders it, {@code <name> message}.
+	 */
+	static MutableComponent chat(Component name, String message) {
+		return Component.translatable("chat.type.text", name, Component.literal(message));
+	}
+
+	private record DeathMessage(String key, Component killer) {
+		static DeathMessage of(String key) {
+			return new DeathMessage(key, null);
+		}
+
+		static DeathMessage of(String key, EntityType<?> killer) {
+			return new DeathMessage(key, killer.getDescription());
+		}
+
+		Component format(Component victim) {
+			return killer != null ? Component.translatable(key, victim, killer) : Component.translatable(key, victim);
+		}
+	}
+}
@@ -0,0 +1,455 @@
+package com.example;
+
+import com.example.config.GeneratorConfig;
+import com.example.config.GlobalConfig;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.Strictness;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import net.minecraft.server.players.NameAndId;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Streams the fake player config straight into {@link CompiledBot} records.
+ * <p>
+ * The bots array is read one object at a time into a small raw form. Raw bots are collected into chunks, and each
+ * chunk is validated and compiled (UUIDs, {@code HH:mm} windows, skins) on the common pool while the next one is read.
+ * Only a bounded number of chunks are in flight, so peak memory is roughly the compiled roster plus a few chunks, never
+ * the whole document or a {@code BotConfig} tree.
+ * <p>
+ * A bot with a bad field is reported with its JSON path and, where the old loader would have, skipped or repaired; a
+ * syntax error in the document as a whole still fails the load.
+ */
+public final class RosterLoader {
+	private static final Gson GSON = new Gson();
+	private static final TypeToken<List<GeneratorConfig>> GENERATORS_TYPE = new TypeToken<>() {};
+	private static final int CHUNK_SIZE = 1024;
+	private static final int MAX_CHUNKS_IN_FLIGHT = Math.max(2, ForkJoinPool.getCommonPoolParallelism() * 2);
+	private static final int MAX_LOGGED_ERRORS = 20;
+
+	private RosterLoader() {}
+
+	/**
+	 * Roster with default settings and no bots, for when no config could be read or written.
+	 */
+	public static Roster empty() {
+		return new Roster(new GlobalConfig(), List.of(), List.of(), new ArrayList<>());
+	}
+
+	/**
+	 * Load a config file, reusing the binary snapshot when it was written for these exact bytes and refreshing it
+	 * otherwise.
+	 *
+	 * @throws IOException        on read failures
+	 * @throws JsonParseException when the document itself is malformed
+	 */
+	public static Roster load(Path json, Path snapshot) throws IOException {
+		// One read for both the hash and the parse, so they always see the same bytes.
+		return load(Files.readAllBytes(json), snapshot);
+	}
+
+	/**
+	 * Same as {@link #load(Path, Path)} for config bytes already in memory.
+	 */
+	public static Roster load(byte[] json, Path snapshot) throws IOException {
+		byte[] hash = sha256().digest(json);
+		Roster cached = RosterSnapshot.read(snapshot, hash);
+		if (cached != null) {
+			return cached;
+		}
+		Roster roster = read(new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8));
+		RosterSnapshot.write(snapshot, hash, roster);
+		return roster;
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform is required to provide SHA-256.
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Read and compile a whole config document.
+	 *
+	 * @throws IOException        on read failures
+	 * @throws JsonParseException when the document itself is malformed
+	 */
+	public static Roster read(Reader in) throws IOException {
+		JsonReader reader = new JsonReader(in);
+		// Hand-edited configs may carry comments or unquoted keys, which Gson.fromJson has always accepted.
+		reader.setStrictness(Strictness.LENIENT);
+		GlobalConfig global = null;
+		List<CompiledBot> bots = List.of();
+		List<GeneratorConfig> generators = null;
+		List<String> errors = new ArrayList<>();
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return new Roster(new GlobalConfig(), bots, List.of(), errors);
+		}
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "global" -> global = GSON.fromJson(reader, GlobalConfig.class);
+				case "bots" -> bots = readBots(reader, errors);
+				// Small and per-population rather than per-bot, so no need to stream it.
+				case "generators" -> generators = GSON.fromJson(reader, GENERATORS_TYPE);
+				default -> reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return new Roster(global != null ? global : new GlobalConfig(), bots, generators != null ? generators : List.of(), errors);
+	}
+
+	private static List<CompiledBot> readBots(JsonReader reader, List<String> errors) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return List.of();
+		}
+		List<CompiledBot> bots = new ArrayList<>();
+		Set<UUID> seen = new HashSet<>();
+		ArrayDeque<CompletableFuture<Chunk>> inFlight = new ArrayDeque<>();
+		RawBot[] chunk = new RawBot[CHUNK_SIZE];
+		int filled = 0;
+		int index = 0;
+		reader.beginArray();
+		while (reader.hasNext()) {
+			chunk[filled++] = readBot(reader, errors);
+			index++;
+			if (filled == CHUNK_SIZE) {
+				inFlight.add(submit(chunk, filled, index - filled));
+				chunk = new RawBot[CHUNK_SIZE];
+				filled = 0;
+				if (inFlight.size() >= MAX_CHUNKS_IN_FLIGHT) {
+					collect(inFlight.poll(), bots, seen, errors);
+				}
+			}
+		}
+		reader.endArray();
+		if (filled > 0) {
+			inFlight.add(submit(chunk, filled, index - filled));
+		}
+		while (!inFlight.isEmpty()) {
+			collect(inFlight.poll(), bots, seen, errors);
+		}
+		return bots;
+	}
+
+	private static CompletableFuture<Chunk> submit(RawBot[] raw, int count, int firstIndex) {
+		return CompletableFuture.supplyAsync(() -> compileChunk(raw, count, firstIndex), ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Merge a finished chunk in document order; the first definition of a UUID wins.
+	 */
+	private static void collect(CompletableFuture<Chunk> pending, List<CompiledBot> bots, Set<UUID> seen, List<String> errors) {
+		Chunk chunk = pending.join();
+		errors.addAll(chunk.errors());
+		for (int i = 0; i < chunk.bots().length; i++) {
+			CompiledBot bot = chunk.bots()[i];
+			if (bot == null) {
+				continue;
+			}
+			if (seen.add(bot.id().id())) {
+				bots.add(bot);
+			} else {
+				errors.add(botPath(chunk.firstIndex() + i) + ": duplicate UUID " + bot.id().id() + ", keeping the first definition");
+			}
+		}
+	}
+
+	private static RawBot readBot(JsonReader reader, List<String> errors) throws IOException {
+		if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+			errors.add(reader.getPath() + ": expected a bot object");
+			reader.skipValue();
+			return null;
+		}
+		String name = null;
+		String uuid = null;
+		boolean enabled = true;
+		String skinUuid = null;
+		String textureValue = null;
+		String textureSignature = null;
+		List<String> windowTimes = List.of();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "name" -> name = nextString(reader, errors);
+				case "uuid" -> uuid = nextString(reader, errors);
+				case "enabled" -> enabled = nextBoolean(reader, errors, enabled);
+				case "skinUuid" -> skinUuid = nextString(reader, errors);
+				case "textureValue" -> textureValue = nextString(reader, errors);
+				case "textureSignature" -> textureSignature = nextString(reader, errors);
+				case "activeWindows" -> windowTimes = readWindows(reader, errors);
+				default -> reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return new RawBot(name, uuid, enabled, skinUuid, textureValue, textureSignature, windowTimes);
+	}
+
+	/**
+	 * Windows as a flat start, end, start, end... list; null marks a missing time.
+	 */
+	private static List<String> readWindows(JsonReader reader, List<String> errors) throws IOException {
+		if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+			if (reader.peek() != JsonToken.NULL) {
+				errors.add(reader.getPath() + ": expected an array of windows");
+			}
+			reader.skipValue();
+			return List.of();
+		}
+		List<String> times = new ArrayList<>(4);
+		reader.beginArray();
+		while (reader.hasNext()) {
+			if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+				errors.add(reader.getPath() + ": expected a window object");
+				reader.skipValue();
+				continue;
+			}
+			String start = null;
+			String end = null;
+			reader.beginObject();
+			while (reader.hasNext()) {
+				switch (reader.nextName()) {
+					case "startTime" -> start = nextString(reader, errors);
+					case "endTime" -> end = nextString(reader, errors);
+					default -> reader.skipValue();
+				}
+			}
+			reader.endObject();
+			times.add(start);
+			times.add(end);
+		}
+		reader.endArray();
+		return times;
+	}
+
+	private static String nextString(JsonReader reader, List<String> errors) throws IOException {
+		JsonToken token = reader.peek();
+		if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+			return reader.nextString();
+		}
+		if (token != JsonToken.NULL) {
+			errors.add(reader.getPath() + ": expected a string");
+		}
+		reader.skipValue();
+		return null;
+	}
+
+	private static boolean nextBoolean(JsonReader reader, List<String> errors, boolean fallback) throws IOException {
+		if (reader.peek() == JsonToken.BOOLEAN) {
+			return reader.nextBoolean();
+		}
+		errors.add(reader.getPath() + ": expected true or false");
+		reader.skipValue();
+		return fallback;
+	}
+
+	private static Chunk compileChunk(RawBot[] raw, int count, int firstIndex) {
+		CompiledBot[] compiled = new CompiledBot[count];
+		List<String> errors = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			if (raw[i] != null) {
+				compiled[i] = compile(raw[i], firstIndex + i, errors);
+			}
+		}
+		return new Chunk(compiled, firstIndex, errors);
+	}
+
+	private static CompiledBot compile(RawBot bot, int index, List<String> errors) {
+		if (bot.name() == null || bot.name().isBlank()) {
+			if (bot.enabled()) {
+				errors.add(botPath(index) + ".name: missing, bot disabled");
+			}
+			return null;
+		}
+		if (!bot.enabled()) {
+			return null;
+		}
+		List<String> times = bot.windowTimes();
+		int windows = times.size() / 2;
+		int[] starts = new int[windows];
+		int[] ends = new int[windows];
+		int valid = 0;
+		for (int w = 0; w < windows; w++) {
+			String start = times.get(2 * w);
+			String end = times.get(2 * w + 1);
+			if (start == null || end == null) {
+				continue;
+			}
+			int startMinute = parseMinuteOfDay(start);
+			int endMinute = parseMinuteOfDay(end);
+			if (startMinute < 0 || endMinute < 0) {
+				errors.add(botPath(index) + ".activeWindows[" + w + "]: invalid window time " + start + " - " + end);
+				continue;
+			}
+			starts[valid] = startMinute;
+			ends[valid] = endMinute;
+			valid++;
+		}
+		ActiveWindowIndex compiledWindows = ActiveWindowIndex.compile(starts, ends, valid);
+		if (compiledWindows.isEmpty()) {
+			return null;
+		}
+
+		UUID id = null;
+		if (bot.uuid() != null && !bot.uuid().isBlank()) {
+			id = parseUuid(bot.uuid());
+			if (id == null) {
+				errors.add(botPath(index) + ".uuid: invalid UUID " + bot.uuid() + ", using deterministic fallback");
+			}
+		}
+		if (id == null) {
+			id = UUID.nameUUIDFromBytes(("fakebot:" + bot.name()).getBytes(StandardCharsets.UTF_8));
+		}
+		// Explicit texture payload wins over a skin UUID.
+		boolean explicit = bot.textureValue() != null && bot.textureSignature() != null;
+		return new CompiledBot(
+			new NameAndId(id, bot.name()),
+			compiledWindows,
+			explicit ? null : parseUuid(bot.skinUuid()),
+			explicit ? new SkinTextures(bot.textureValue(), bot.textureSignature()) : null
+		);
+	}
+
+	/**
+	 * Minute of day for a strict {@code HH:mm} string, or -1.
+	 */
+	static int parseMinuteOfDay(String time) {
+		if (time.length() != 5 || time.charAt(2) != ':') {
+			return -1;
+		}
+		int hour = digits(time.charAt(0), time.charAt(1));
+		int minute = digits(time.charAt(3), time.charAt(4));
+		if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+			return -1;
+		}
+		return hour * 60 + minute;
+	}
+
+	private static int digits(char tens, char ones) {
+		if (tens < '0' || tens > '9' || ones < '0' || ones > '9') {
+			return -1;
+		}
+		return (tens - '0') * 10 + (ones - '0');
+	}
+
+	private static UUID parseUuid(String raw) {
+		if (raw == null || raw.isBlank()) {
+			return null;
+		}
+		try {
+			return UUID.fromString(raw);
+		} catch (IllegalArgumentException ignored) {
+			return null;
+		}
+	}
+
+	private static String botPath(int index) {
+		return "$.bots[" + index + "]";
+	}
+
+	/**
+	 * Result of a load: global settings, compiled bots in config order, generated population, and per-bot problems.
+	 */
+	public static final class Roster {
+		private final GlobalConfig global;
+		private final List<CompiledBot> bots;
+		private final List<GeneratorConfig> generators;
+		private final GeneratedPopulation population;
+		private final List<String> errors;
+
+		Roster(GlobalConfig global, List<CompiledBot> bots, List<GeneratorConfig> generators, List<String> errors) {
+			this.global = global;
+			this.bots = bots;
+			this.generators = generators;
+			this.population = GeneratedPopulation.compile(generators);
+			this.errors = Collections.unmodifiableList(errors);
+		}
+
+		public GlobalConfig global() {
+			return global;
+		}
+
+		/**
+		 * Number of hand-written bots that will take part in the schedule.
+		 */
+		public int size() {
+			return bots.size();
+		}
+
+		/**
+		 * Number of bots the generators describe; only those inside an open window are ever materialized.
+		 */
+		public int generatedSize() {
+			return population.population();
+		}
+
+		/**
+		 * Problems found while loading, each prefixed with the JSON path it refers to.
+		 */
+		public List<String> errors() {
+			return errors;
+		}
+
+		List<CompiledBot> bots() {
+			return bots;
+		}
+
+		List<GeneratorConfig> generators() {
+			return generators;
+		}
+
+		GeneratedPopulation population() {
+			return population;
+		}
+
+		public void logErrors(Object source) {
+			if (errors.isEmpty()) {
+				return;
+			}
+			int shown = Math.min(errors.size(), MAX_LOGGED_ERRORS);
+			for (int i = 0; i < shown; i++) {
+				ExampleMod.LOGGER.warn("[FakePlayers] {}: {}", source, errors.get(i));
+			}
+			if (errors.size() > shown) {
+				ExampleMod.LOGGER.warn("[FakePlayers] {}: ...and {} more problems.", source, errors.size() - shown);
+			}
+		}
+	}
+
+	private record RawBot(
+		String name,
+		String uuid,
+		boolean enabled,
+		String skinUuid,
+		String textureValue,
+		String textureSignature,
+		List<String> windowTimes
+	) {}
+
+	private record Chunk(CompiledBot[] bots, int firstIndex, List<String> errors) {}
+}
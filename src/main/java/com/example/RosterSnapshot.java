@@ -0,0 +1,203 @@
+package com.example;
+
+import com.example.config.GeneratorConfig;
+import com.example.config.GlobalConfig;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import net.minecraft.server.players.NameAndId;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Binary image of a compiled {@link RosterLoader.Roster}, keyed by the SHA-256 of the JSON it was compiled from.
+ * <p>
+ * Layout (big-endian): magic, format version, 32-byte source hash, global settings and generator sections as JSON,
+ * load problems, then per bot its UUID, name, window bitmap words and skin source. Strings are an int byte length
+ * plus UTF-8. The file is read in one call and decoded in one pass, so a boot with an unchanged config skips JSON
+ * parsing, UUID hashing and window compilation entirely. It is read into the heap rather than mapped: a live mapping
+ * would keep Windows from replacing the file on the next write.
+ * <p>
+ * Writers (the config watcher and reload commands) each use their own temp file and replace the snapshot atomically,
+ * so concurrent writes cannot interleave; the last move wins.
+ * <p>
+ * Any mismatch (missing file, other version, other hash, truncated data) reads as "no snapshot" and the caller falls
+ * back to parsing the JSON.
+ */
+final class RosterSnapshot {
+	private static final Gson GSON = new Gson();
+	private static final TypeToken<List<GeneratorConfig>> GENERATORS_TYPE = new TypeToken<>() {};
+	private static final int MAGIC = 0x46505253; // "FPRS"
+	private static final int FORMAT_VERSION = 2;
+	private static final byte SKIN_NONE = 0;
+	private static final byte SKIN_UUID = 1;
+	private static final byte SKIN_TEXTURES = 2;
+
+	private RosterSnapshot() {}
+
+	/**
+	 * Decode the snapshot if it was written for {@code sourceHash}, otherwise null.
+	 */
+	static RosterLoader.Roster read(Path file, byte[] sourceHash) {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer) < 0) {
+					return null;
+				}
+			}
+			buffer.flip();
+			if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+				return null;
+			}
+			byte[] hash = new byte[sourceHash.length];
+			buffer.get(hash);
+			if (!Arrays.equals(hash, sourceHash)) {
+				return null;
+			}
+			GlobalConfig global = GSON.fromJson(getString(buffer), GlobalConfig.class);
+			List<GeneratorConfig> generators = GSON.fromJson(getString(buffer), GENERATORS_TYPE);
+			int errorCount = buffer.getInt();
+			List<String> errors = new ArrayList<>(errorCount);
+			for (int i = 0; i < errorCount; i++) {
+				errors.add(getString(buffer));
+			}
+			int botCount = buffer.getInt();
+			List<CompiledBot> bots = new ArrayList<>(botCount);
+			for (int i = 0; i < botCount; i++) {
+				bots.add(getBot(buffer));
+			}
+			return new RosterLoader.Roster(global != null ? global : new GlobalConfig(), bots, generators != null ? generators : List.of(), errors);
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException | RuntimeException e) {
+			// BufferUnderflowException, bad bitmap, bad JSON: treat as stale.
+			ExampleMod.LOGGER.debug("[FakePlayers] Ignoring unreadable roster snapshot {}", file, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Write the snapshot next to its final location and move it into place, so readers never see half a file.
+	 */
+	static void write(Path file, byte[] sourceHash, RosterLoader.Roster roster) {
+		byte[] global = GSON.toJson(roster.global()).getBytes(StandardCharsets.UTF_8);
+		byte[] generators = GSON.toJson(roster.generators()).getBytes(StandardCharsets.UTF_8);
+		List<CompiledBot> bots = roster.bots();
+		ByteBuffer buffer = ByteBuffer.allocate(estimateSize(global, generators, roster));
+		buffer.putInt(MAGIC);
+		buffer.putInt(FORMAT_VERSION);
+		buffer.put(sourceHash);
+		putBytes(buffer, global);
+		putBytes(buffer, generators);
+		buffer.putInt(roster.errors().size());
+		for (String error : roster.errors()) {
+			putBytes(buffer, error.getBytes(StandardCharsets.UTF_8));
+		}
+		buffer.putInt(bots.size());
+		for (CompiledBot bot : bots) {
+			putBot(buffer, bot);
+		}
+		buffer.flip();
+
+		Path temp = null;
+		try {
+			temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			ExampleMod.LOGGER.warn("[FakePlayers] Failed to write roster snapshot {}", file, e);
+			if (temp != null) {
+				try {
+					Files.deleteIfExists(temp);
+				} catch (IOException ignored) {
+					// A stray temp file is harmless; nothing reads it.
+				}
+			}
+		}
+	}
+
+	private static CompiledBot getBot(ByteBuffer buffer) {
+		UUID id = new UUID(buffer.getLong(), buffer.getLong());
+		String name = getString(buffer);
+		long[] bitmap = new long[ActiveWindowIndex.BITMAP_WORDS];
+		buffer.asLongBuffer().get(bitmap);
+		buffer.position(buffer.position() + bitmap.length * Long.BYTES);
+		UUID skinUuid = null;
+		SkinTextures textures = null;
+		switch (buffer.get()) {
+			case SKIN_UUID -> skinUuid = new UUID(buffer.getLong(), buffer.getLong());
+			case SKIN_TEXTURES -> textures = new SkinTextures(getString(buffer), getString(buffer));
+			case SKIN_NONE -> {
+			}
+			default -> throw new IllegalStateException("Unknown skin tag");
+		}
+		return new CompiledBot(new NameAndId(id, name), ActiveWindowIndex.fromBitmap(bitmap), skinUuid, textures);
+	}
+
+	private static void putBot(ByteBuffer buffer, CompiledBot bot) {
+		buffer.putLong(bot.id().id().getMostSignificantBits());
+		buffer.putLong(bot.id().id().getLeastSignificantBits());
+		putBytes(buffer, bot.id().name().getBytes(StandardCharsets.UTF_8));
+		for (int word = 0; word < ActiveWindowIndex.BITMAP_WORDS; word++) {
+			buffer.putLong(bot.windows().bitmapWord(word));
+		}
+		if (bot.explicitTextures() != null) {
+			buffer.put(SKIN_TEXTURES);
+			putBytes(buffer, bot.explicitTextures().value().getBytes(StandardCharsets.UTF_8));
+			putBytes(buffer, bot.explicitTextures().signature().getBytes(StandardCharsets.UTF_8));
+		} else if (bot.skinUuid() != null) {
+			buffer.put(SKIN_UUID);
+			buffer.putLong(bot.skinUuid().getMostSignificantBits());
+			buffer.putLong(bot.skinUuid().getLeastSignificantBits());
+		} else {
+			buffer.put(SKIN_NONE);
+		}
+	}
+
+	private static int estimateSize(byte[] global, byte[] generators, RosterLoader.Roster roster) {
+		long size = 4 + 4 + 32 + 4 + global.length + 4 + generators.length + 4 + 4;
+		for (String error : roster.errors()) {
+			// UTF-8 needs at most three bytes per UTF-16 unit.
+			size += 4 + 3L * error.length();
+		}
+		for (CompiledBot bot : roster.bots()) {
+			size += 16 + 4 + 3L * bot.id().name().length() + ActiveWindowIndex.BITMAP_WORDS * Long.BYTES + 1 + 16;
+			if (bot.explicitTextures() != null) {
+				size += 8 + 3L * (bot.explicitTextures().value().length() + bot.explicitTextures().signature().length());
+			}
+		}
+		return Math.toIntExact(size);
+	}
+
+	private static String getString(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0 || length > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+		buffer.putInt(bytes.length);
+		buffer.put(bytes);
+	}
+}
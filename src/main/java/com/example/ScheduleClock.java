@@ -0,0 +1,90 @@
+package com.example;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * Epoch-millis clock that answers local wall-clock questions for the schedule zone.
+ * <p>
+ * Time comes from a {@link Clock}, normally the system clock in the schedule zone; simulations pass one they advance
+ * themselves.
+ * <p>
+ * The UTC offset is cached together with the span it is valid for (between two DST transitions), so the per-tick
+ * minute-of-day math is plain arithmetic. {@link LocalDateTime} only appears at the API edge via {@link #toLocal}, and
+ * when a window boundary lies across a DST transition.
+ */
+final class ScheduleClock {
+	private static final long MILLIS_PER_MINUTE = 60_000L;
+	private static final long MILLIS_PER_DAY = 24 * 60 * MILLIS_PER_MINUTE;
+
+	private final Clock source;
+	private final ZoneId zone;
+	private final ZoneRules rules;
+	private long offsetMillis;
+	private long offsetValidFrom = Long.MAX_VALUE;
+	private long offsetValidUntil = Long.MIN_VALUE;
+
+	ScheduleClock(Clock source) {
+		this.source = source;
+		this.zone = source.getZone();
+		this.rules = zone.getRules();
+	}
+
+	long millis() {
+		return source.millis();
+	}
+
+	int minuteOfDay(long epochMillis) {
+		long local = epochMillis + offsetAt(epochMillis);
+		return (int) (Math.floorMod(local, MILLIS_PER_DAY) / MILLIS_PER_MINUTE);
+	}
+
+	/**
+	 * Epoch millis of the start of the minute containing {@code epochMillis}.
+	 */
+	long startOfMinute(long epochMillis) {
+		return epochMillis - Math.floorMod(epochMillis + offsetAt(epochMillis), MILLIS_PER_MINUTE);
+	}
+
+	/**
+	 * The instant the local wall clock reads {@code minutes} minutes past the start of the current minute. Across a DST
+	 * transition that is an hour more or less than the elapsed time: 00:30 plus 510 minutes is 09:00 local time on
+	 * either changeover day. A wall-clock time skipped by the spring change moves forward by the gap; one repeated in
+	 * the autumn resolves to its first occurrence.
+	 */
+	long plusMinutesFromMinuteStart(long epochMillis, int minutes) {
+		long start = startOfMinute(epochMillis);
+		long offset = offsetAt(start);
+		long target = start + minutes * MILLIS_PER_MINUTE;
+		if (target >= offsetValidFrom && target < offsetValidUntil) {
+			// Same offset at both ends, so elapsed and wall-clock minutes agree.
+			return target;
+		}
+		LocalDateTime local = LocalDateTime.ofEpochSecond(Math.floorDiv(start + offset, 1000L), 0, ZoneOffset.UTC).plusMinutes(minutes);
+		return ZonedDateTime.ofLocal(local, zone, null).toInstant().toEpochMilli();
+	}
+
+	LocalDateTime toLocal(long epochMillis) {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+	}
+
+	private long offsetAt(long epochMillis) {
+		if (epochMillis < offsetValidFrom || epochMillis >= offsetValidUntil) {
+			Instant instant = Instant.ofEpochMilli(epochMillis);
+			ZoneOffset offset = rules.getOffset(instant);
+			// Nudge forward so an instant sitting exactly on a transition reports that transition as its start.
+			ZoneOffsetTransition previous = rules.previousTransition(instant.plusMillis(1));
+			ZoneOffsetTransition next = rules.nextTransition(instant);
+			offsetMillis = offset.getTotalSeconds() * 1000L;
+			offsetValidFrom = previous != null ? previous.toEpochSecond() * 1000L : Long.MIN_VALUE;
+			offsetValidUntil = next != null ? next.toEpochSecond() * 1000L : Long.MAX_VALUE;
+		}
+		return offsetMillis;
+	}
+}
@@ -0,0 +1,27 @@
+package com.example;
+
+import net.minecraft.server.players.NameAndId;
+
+/**
+ * Hook for bot state changes as the scheduler applies them.
+ */
+@FunctionalInterface
+interface ScheduleObserver {
+	ScheduleObserver NONE = (at, bot, transition) -> {
+	};
+
+	enum Transition {
+		LOGIN,
+		LOGOUT,
+		BREAK_START,
+		BREAK_END,
+		DEATH
+	}
+
+	/**
+	 * @param at         epoch millis on the scheduler's clock
+	 * @param bot        the bot that changed
+	 * @param transition what happened to it
+	 */
+	void transition(long at, NameAndId bot, Transition transition);
+}
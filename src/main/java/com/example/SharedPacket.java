@@ -0,0 +1,129 @@
+package com.example;
+
+import com.example.mixin.ConnectionAccessor;
+import com.example.mixin.PacketEncoderAccessor;
+import com.example.mixin.ServerCommonPacketListenerImplAccessor;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import net.minecraft.network.Connection;
+import net.minecraft.network.ConnectionProtocol;
+import net.minecraft.network.HandlerNames;
+import net.minecraft.network.PacketEncoder;
+import net.minecraft.network.ProtocolInfo;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.PacketFlow;
+import net.minecraft.network.protocol.game.ClientGamePacketListener;
+import net.minecraft.network.protocol.game.GameProtocols;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * A clientbound play packet serialized once and written to many connections as retained duplicates of one buffer.
+ * <p>
+ * The encoded bytes are the packet id plus body, exactly what the pipeline's packet encoder would emit, so writing them
+ * at the tail of the channel still goes through compression, length framing and encryption. That skips
+ * {@link Connection#send}, so the bytes are only written when doing so is indistinguishable from it:
+ * <ul>
+ *   <li>the channel is open and nothing is queued in the connection's pending actions, which would otherwise go out
+ *   after this packet instead of before it;</li>
+ *   <li>the viewer's game listener owns the connection and the pipeline's encoder is the clientbound play one, so the
+ *   packet ids match (not during a switch back to configuration);</li>
+ *   <li>the connection is not in-memory, which carries packet objects rather than bytes.</li>
+ * </ul>
+ * Both paths queue the write on the channel's event loop from the server thread, so ordering against regular sends
+ * holds, and the connection's sent-packet count is bumped as {@code send} would. No send listener is involved: tab
+ * and count packets never carry one. Otherwise, and on any encoding failure, the packet goes through a regular
+ * {@code send}.
+ * <p>
+ * The holder owns one reference to the buffer; call {@link #release()} once the packet is no longer shared.
+ */
+final class SharedPacket {
+	private static StreamCodec<ByteBuf, Packet<? super ClientGamePacketListener>> codec;
+
+	private final Packet<? super ClientGamePacketListener> packet;
+	private ByteBuf encoded;
+	private boolean encodeFailed;
+
+	SharedPacket(Packet<? super ClientGamePacketListener> packet) {
+		this.packet = packet;
+	}
+
+	/**
+	 * Bind the play protocol codec to the running server's registries.
+	 */
+	static void bind(MinecraftServer server) {
+		codec = server == null
+			? null
+			: GameProtocols.CLIENTBOUND_TEMPLATE.bind(RegistryFriendlyByteBuf.decorator(server.registryAccess())).codec();
+	}
+
+	Packet<? super ClientGamePacketListener> packet() {
+		return packet;
+	}
+
+	void send(ServerPlayer viewer) {
+		Connection connection = ((ServerCommonPacketListenerImplAccessor) viewer.connection).getConnection();
+		ByteBuf bytes = connection.isMemoryConnection() ? null : encoded();
+		Channel channel = bytes == null ? null : rawChannel(connection, viewer);
+		if (channel == null) {
+			viewer.connection.send(packet);
+			return;
+		}
+		ConnectionAccessor accessor = (ConnectionAccessor) connection;
+		accessor.setSentPackets(accessor.getSentPackets() + 1);
+		// Netty releases the duplicate after the write; our own reference stays until release().
+		channel.writeAndFlush(bytes.retainedDuplicate());
+	}
+
+	/**
+	 * The channel to write pre-encoded play bytes to, or null when only {@link Connection#send} is safe.
+	 */
+	private static Channel rawChannel(Connection connection, ServerPlayer viewer) {
+		ConnectionAccessor accessor = (ConnectionAccessor) connection;
+		Channel channel = accessor.getChannel();
+		if (channel == null || !channel.isOpen() || !accessor.getPendingActions().isEmpty()) {
+			return null;
+		}
+		if (connection.getPacketListener() != viewer.connection) {
+			return null;
+		}
+		return channel.pipeline().get(HandlerNames.ENCODER) instanceof PacketEncoder<?> encoder
+			&& isClientboundPlay(((PacketEncoderAccessor) encoder).getProtocolInfo())
+			? channel
+			: null;
+	}
+
+	private static boolean isClientboundPlay(ProtocolInfo<?> protocol) {
+		return protocol != null && protocol.id() == ConnectionProtocol.PLAY && protocol.flow() == PacketFlow.CLIENTBOUND;
+	}
+
+	void release() {
+		if (encoded != null) {
+			encoded.release();
+			encoded = null;
+		}
+	}
+
+	private ByteBuf encoded() {
+		if (encoded != null || encodeFailed) {
+			return encoded;
+		}
+		if (codec == null) {
+			encodeFailed = true;
+			return null;
+		}
+		ByteBuf buffer = Unpooled.buffer();
+		try {
+			codec.encode(buffer, packet);
+			encoded = buffer;
+		} catch (RuntimeException e) {
+			buffer.release();
+			encodeFailed = true;
+			ExampleMod.LOGGER.warn("[FakePlayers] Failed to pre-encode {}, falling back to per-connection encoding.", packet.type(), e);
+		}
+		return encoded;
+	}
+}
@@ -0,0 +1,675 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Silent-ban set that login threads can read without locking, persisted as a base file plus an append-only journal.
+ * <p>
+ * Readers see an immutable {@link View} through a volatile field: a packed {@link SortedNameSet} with a
+ * {@link BloomFilter} in front, plus small overlays of names added and removed since the base was built. Most logins
+ * are not banned, and for those the bloom filter answers without touching the sorted data. Writers (commands on the
+ * server thread) copy the overlays, apply their change and swap a new view in; once the overlays grow past
+ * {@link #MAX_OVERLAY} they are merged into a fresh base.
+ * <p>
+ * Temporary bans carry an expiry: membership checks treat a lapsed entry as absent straight away, and an
+ * {@link ExpiryWheel} swept from the server tick removes it for good. Both files store an expiry as a tab and epoch
+ * millis after the name.
+ * <p>
+ * Each change appends one {@code +name} or {@code -name} line to the journal and fsyncs that line alone. Once the
+ * journal outgrows the set, a background thread rewrites the base file from a snapshot and cuts the journal down to
+ * what was appended after that snapshot. Replaying a journal over a base that already contains some of its operations
+ * gives the same result, so a crash at any point of a compaction loses nothing.
+ */
+final class SilentBanStore {
+	private static final Logger LOGGER = LoggerFactory.getLogger("modid-silentban");
+	private static final int COMPACT_MIN_OPS = 256;
+	private static final int MAX_OVERLAY = 4096;
+	private static final int SUGGESTION_SCAN_LIMIT = 4096;
+	private static final long PERMANENT = Long.MAX_VALUE;
+	// Replay marker for "last operation was an unban".
+	private static final long REMOVED = Long.MIN_VALUE;
+
+	private final Path baseFile;
+	private final Path journalFile;
+	private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "modid-silentban-compactor");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final Object baseWriteLock = new Object();
+	private volatile View view = View.of(SortedNameSet.EMPTY, Map.of());
+	private final ExpiryWheel expiryWheel = new ExpiryWheel();
+	private FileChannel journal;
+	private long journalSize;
+	private int journalOps;
+	private boolean compacting;
+	// An import writes its own base; a compaction started meanwhile would only be discarded.
+	private int importsRunning;
+	// Every base rewrite takes a generation; an older one never overwrites a newer one.
+	private long baseGeneration;
+	private long writtenGeneration;
+
+	SilentBanStore(Path baseFile, Path journalFile) {
+		this.baseFile = baseFile;
+		this.journalFile = journalFile;
+	}
+
+	/**
+	 * Lock-free membership test for login threads.
+	 */
+	boolean contains(String key) {
+		return view.contains(key);
+	}
+
+	int size() {
+		return view.size();
+	}
+
+	/**
+	 * When a temporary ban on {@code key} lapses, or {@link Long#MAX_VALUE} for a permanent one. Only meaningful for
+	 * banned keys.
+	 */
+	long expiryOf(String key) {
+		return view.expiries().getOrDefault(key, PERMANENT);
+	}
+
+	/**
+	 * Up to {@code limit} banned keys starting with {@code prefix} that {@code kind} accepts, in order.
+	 */
+	List<String> suggest(String prefix, int limit, Predicate<String> kind) {
+		View current = view;
+		List<String> found = new ArrayList<>();
+		current.base().collectPrefix(prefix, limit + current.removed().size(), SUGGESTION_SCAN_LIMIT, kind, found);
+		found.removeIf(current.removed()::contains);
+		for (String added : current.added()) {
+			if (added.startsWith(prefix) && kind.test(added)) {
+				found.add(added);
+			}
+		}
+		found.sort(null);
+		return found.size() > limit ? found.subList(0, limit) : found;
+	}
+
+	/**
+	 * Read the base file and replay the journal over it. A torn last journal line from a crash is cut off.
+	 */
+	synchronized void load() {
+		List<String> base = new ArrayList<>();
+		Map<String, Long> expiries = new HashMap<>();
+		Map<String, Long> replayed = new LinkedHashMap<>();
+		try {
+			if (Files.exists(baseFile)) {
+				try (BufferedReader reader = Files.newBufferedReader(baseFile, StandardCharsets.UTF_8)) {
+					for (String line; (line = reader.readLine()) != null; ) {
+						String trimmed = line.trim();
+						if (!trimmed.isEmpty()) {
+							int tab = trimmed.indexOf('\t');
+							String key = tab < 0 ? trimmed : trimmed.substring(0, tab);
+							base.add(key);
+							if (tab >= 0) {
+								expiries.put(key, parseExpiry(trimmed.substring(tab + 1)));
+							}
+						}
+					}
+				}
+			}
+			closeJournal();
+			journal = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			byte[] bytes = readFrom(journal, 0L);
+			int end = replayLines(bytes, replayed);
+			if (end < bytes.length) {
+				LOGGER.warn("Dropping {} bytes of incomplete silent ban journal entry in {}", bytes.length - end, journalFile);
+				journal.truncate(end);
+			}
+			journal.position(end);
+			journalSize = end;
+			journalOps = count(bytes, (byte) '\n');
+		} catch (IOException e) {
+			LOGGER.warn("Failed to load silent bans from {}", baseFile, e);
+		}
+		view = applyOps(SortedNameSet.of(base), expiries, replayed);
+		expiryWheel.clear();
+		expiries.forEach(expiryWheel::add);
+		maybeCompact();
+	}
+
+	synchronized boolean add(String key) {
+		return addAll(List.of(key)) > 0;
+	}
+
+	/**
+	 * Ban {@code key} until {@code expiresAt}. Refused (false) when it is already banned permanently; an existing
+	 * temporary ban is replaced.
+	 */
+	synchronized boolean add(String key, long expiresAt) {
+		View current = view;
+		long now = System.currentTimeMillis();
+		boolean banned = current.contains(key, now);
+		if (expiresAt <= now || (banned && current.expiries().getOrDefault(key, PERMANENT) == PERMANENT)) {
+			return false;
+		}
+		Set<String> added = new HashSet<>(current.added());
+		Set<String> removed = new HashSet<>(current.removed());
+		if (!removed.remove(key) && !current.base().contains(key)) {
+			added.add(key);
+		}
+		Map<String, Long> expiries = new HashMap<>(current.expiries());
+		expiries.put(key, expiresAt);
+		publish(current.base(), current.bloom(), added, removed, expiries);
+		expiryWheel.add(key, expiresAt);
+		append('+', List.of(key + '\t' + expiresAt));
+		return true;
+	}
+
+	/**
+	 * Ban every key permanently, with one view swap and one journal write; returns how many were new or lost their
+	 * expiry.
+	 */
+	synchronized int addAll(Collection<String> keys) {
+		View current = view;
+		long now = System.currentTimeMillis();
+		Set<String> added = new HashSet<>(current.added());
+		Set<String> removed = new HashSet<>(current.removed());
+		Map<String, Long> expiries = current.expiries();
+		List<String> changed = new ArrayList<>();
+		for (String key : keys) {
+			if (current.contains(key, now) && !expiries.containsKey(key)) {
+				continue;
+			}
+			if (expiries.containsKey(key)) {
+				if (expiries == current.expiries()) {
+					expiries = new HashMap<>(expiries);
+				}
+				expiries.remove(key);
+			}
+			if (!removed.remove(key) && !current.base().contains(key)) {
+				added.add(key);
+			}
+			changed.add(key);
+		}
+		if (changed.isEmpty()) {
+			return 0;
+		}
+		publish(current.base(), current.bloom(), added, removed, expiries);
+		append('+', changed);
+		return changed.size();
+	}
+
+	synchronized boolean remove(String key) {
+		if (!view.contains(key)) {
+			return false;
+		}
+		drop(List.of(key));
+		return true;
+	}
+
+	/**
+	 * Remove temporary bans that have lapsed. Cheap when nothing is due; call it every tick.
+	 */
+	synchronized void sweepExpired(long now) {
+		if (expiryWheel.size() == 0) {
+			return;
+		}
+		Map<String, Long> expiries = view.expiries();
+		List<String> lapsed = new ArrayList<>();
+		// Entries replaced by a later ban or unban no longer match and are skipped.
+		expiryWheel.advance(now, (key, expiresAt) -> {
+			Long current = expiries.get(key);
+			if (current != null && current == expiresAt) {
+				lapsed.add(key);
+			}
+		});
+		if (!lapsed.isEmpty()) {
+			drop(lapsed);
+		}
+	}
+
+	private void drop(List<String> keys) {
+		View current = view;
+		Set<String> added = new HashSet<>(current.added());
+		Set<String> removed = new HashSet<>(current.removed());
+		Map<String, Long> expiries = new HashMap<>(current.expiries());
+		for (String key : keys) {
+			if (!added.remove(key)) {
+				removed.add(key);
+			}
+			expiries.remove(key);
+		}
+		publish(current.base(), current.bloom(), added, removed, expiries);
+		append('-', keys);
+	}
+
+	/**
+	 * Merge a large list of names in one go. Rather than journaling every name, the merged set is written straight to
+	 * the base file and the journal keeps only what changed meanwhile. The merge and the write run outside the store
+	 * lock, so logins, commands and the tick sweep carry on; only the final swap takes it, and it starts over if a
+	 * newer base was taken in between. Nothing is published until the base is on disk. Meant for a worker thread;
+	 * returns how many names were new.
+	 */
+	int importAll(Collection<String> keys) throws IOException {
+		while (true) {
+			View snapshot;
+			long mark;
+			long generation;
+			synchronized (this) {
+				snapshot = view;
+				mark = journalSize;
+				generation = ++baseGeneration;
+				importsRunning++;
+			}
+			try {
+				View merged = withImported(snapshot, keys);
+				if (writeBase(merged, generation) && installImport(snapshot, merged, mark, generation)) {
+					return merged.size() - snapshot.size();
+				}
+			} finally {
+				synchronized (this) {
+					importsRunning--;
+				}
+			}
+		}
+	}
+
+	private static View withImported(View current, Collection<String> keys) {
+		Set<String> removed = new HashSet<>(current.removed());
+		Map<String, Long> expiries = new HashMap<>(current.expiries());
+		for (String key : keys) {
+			removed.remove(key);
+			expiries.remove(key);
+		}
+		return View.of(current.base().merge(union(current.added(), keys), removed), Map.copyOf(expiries));
+	}
+
+	/**
+	 * Publish an imported base written as {@code generation}, replaying what was journaled after {@code mark} on top
+	 * of it. False when the import has to start over from the current view.
+	 */
+	private synchronized boolean installImport(View snapshot, View merged, long mark, long generation) throws IOException {
+		if (generation != baseGeneration) {
+			// Another import or a stop took a newer base, which lacks these names; the journal offset is stale too.
+			return false;
+		}
+		if (journal == null) {
+			// Changes made meanwhile were not journaled, so only a fresh merge can keep them.
+			if (view != snapshot) {
+				return false;
+			}
+			view = merged;
+			return true;
+		}
+		byte[] tail = readFrom(journal, mark);
+		Map<String, Long> ops = new LinkedHashMap<>();
+		replayLines(tail, ops);
+		View next = applyOps(merged.base(), new HashMap<>(merged.expiries()), ops);
+		replaceJournal(tail);
+		view = next;
+		return true;
+	}
+
+	/**
+	 * Visit every live ban key in one snapshot, base entries in sorted order first.
+	 */
+	void forEach(Consumer<String> action) {
+		View current = view;
+		long now = System.currentTimeMillis();
+		current.base().forEach(key -> {
+			if (current.contains(key, now)) {
+				action.accept(key);
+			}
+		});
+		for (String key : current.added()) {
+			if (current.contains(key, now)) {
+				action.accept(key);
+			}
+		}
+	}
+
+	/**
+	 * Write every banned name, sorted, one per line. Reads a snapshot, so it can run on any thread.
+	 */
+	int exportTo(Path file) throws IOException {
+		return writeNames(file, view);
+	}
+
+	/**
+	 * Fold the journal into the base file and release the journal, e.g. on server stop.
+	 */
+	synchronized void close() {
+		try {
+			if (journal != null && journalOps > 0) {
+				rewriteBase(view);
+			}
+		} catch (IOException e) {
+			LOGGER.warn("Failed to compact silent bans into {}", baseFile, e);
+		}
+		closeJournal();
+	}
+
+	private void publish(SortedNameSet base, BloomFilter bloom, Set<String> added, Set<String> removed, Map<String, Long> expiries) {
+		View next = new View(base, bloom, Set.copyOf(added), Set.copyOf(removed), Map.copyOf(expiries));
+		view = added.size() + removed.size() > MAX_OVERLAY ? next.compacted() : next;
+	}
+
+	/**
+	 * Write {@code current} as the base and empty the journal. Caller holds the store lock, so nothing is appended
+	 * in between.
+	 */
+	private void rewriteBase(View current) throws IOException {
+		writeBase(current, ++baseGeneration);
+		if (journal != null) {
+			journal.truncate(0);
+			journal.force(true);
+			journalSize = 0;
+			journalOps = 0;
+		}
+	}
+
+	private void append(char op, List<String> keys) {
+		if (journal == null) {
+			LOGGER.warn("Silent ban journal is not open; change to {} is not persisted.", keys);
+			return;
+		}
+		StringBuilder lines = new StringBuilder();
+		for (String key : keys) {
+			lines.append(op).append(key).append('\n');
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+		try {
+			journal.position(journalSize);
+			while (buffer.hasRemaining()) {
+				journal.write(buffer);
+			}
+			journal.force(false);
+			journalSize = journal.position();
+			journalOps += keys.size();
+		} catch (IOException e) {
+			LOGGER.warn("Failed to append to silent ban journal {}", journalFile, e);
+		}
+		maybeCompact();
+	}
+
+	private void maybeCompact() {
+		if (compacting || importsRunning > 0 || journal == null || journalOps < COMPACT_MIN_OPS || journalOps <= view.size()) {
+			return;
+		}
+		compacting = true;
+		View captured = view;
+		long capturedAt = journalSize;
+		long generation = ++baseGeneration;
+		compactor.execute(() -> compact(captured, capturedAt, generation));
+	}
+
+	/**
+	 * Runs on the compactor thread: write the base from {@code captured}, then keep only the journal entries
+	 * appended after it was taken.
+	 */
+	private void compact(View captured, long capturedAt, long generation) {
+		try {
+			boolean written = writeBase(captured, generation);
+			synchronized (this) {
+				// A newer base (import, stop) already folded the journal in; its offsets are no longer ours.
+				if (written && journal != null && generation == baseGeneration) {
+					replaceJournal(readFrom(journal, capturedAt));
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.warn("Failed to compact silent ban journal {}", journalFile, e);
+		} finally {
+			synchronized (this) {
+				compacting = false;
+			}
+		}
+	}
+
+	/**
+	 * Swap the journal for one holding just {@code tail}, the entries appended after the base was captured. Caller
+	 * holds the store lock.
+	 */
+	private void replaceJournal(byte[] tail) throws IOException {
+		Path temp = journalFile.resolveSibling(journalFile.getFileName() + ".tmp");
+		Files.write(temp, tail, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+		closeJournal();
+		Files.move(temp, journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		journal = FileChannel.open(journalFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		journalSize = tail.length;
+		journalOps = count(tail, (byte) '\n');
+	}
+
+	/**
+	 * Write the base file atomically, unless a newer generation already has been; returns whether it wrote.
+	 */
+	private boolean writeBase(View current, long generation) throws IOException {
+		synchronized (baseWriteLock) {
+			if (generation <= writtenGeneration) {
+				return false;
+			}
+			Files.createDirectories(baseFile.getParent());
+			Path temp = baseFile.resolveSibling(baseFile.getFileName() + ".tmp");
+			writeNames(temp, current);
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+				channel.force(true);
+			}
+			Files.move(temp, baseFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			writtenGeneration = generation;
+			return true;
+		}
+	}
+
+	/**
+	 * Write the view sorted, one name per line with its expiry if temporary; lapsed entries are left out.
+	 */
+	private static int writeNames(Path file, View current) throws IOException {
+		SortedNameSet names = current.compacted().base();
+		long now = System.currentTimeMillis();
+		int written = 0;
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			for (int index = 0; index < names.size(); index++) {
+				String key = names.get(index);
+				Long expiresAt = current.expiries().get(key);
+				if (expiresAt != null && expiresAt <= now) {
+					continue;
+				}
+				writer.write(key);
+				if (expiresAt != null) {
+					writer.write('\t');
+					writer.write(Long.toString(expiresAt));
+				}
+				writer.newLine();
+				written++;
+			}
+		}
+		return written;
+	}
+
+	private void closeJournal() {
+		if (journal == null) {
+			return;
+		}
+		try {
+			journal.close();
+		} catch (IOException ignored) {
+			// Everything written was already forced.
+		}
+		journal = null;
+	}
+
+	private static Collection<String> union(Set<String> first, Collection<String> second) {
+		if (first.isEmpty()) {
+			return second;
+		}
+		List<String> all = new ArrayList<>(first.size() + second.size());
+		all.addAll(first);
+		all.addAll(second);
+		return all;
+	}
+
+	/**
+	 * Replay every complete line of {@code bytes} into {@code ops} and return where the last one ends.
+	 */
+	private static int replayLines(byte[] bytes, Map<String, Long> ops) {
+		int end = 0;
+		for (int start = 0, newline; (newline = indexOf(bytes, (byte) '\n', start)) >= 0; start = newline + 1) {
+			replay(ops, new String(bytes, start, newline - start, StandardCharsets.UTF_8));
+			end = newline + 1;
+		}
+		return end;
+	}
+
+	/**
+	 * {@code base} with replayed operations applied; {@code expiries} is updated to match in place.
+	 */
+	private static View applyOps(SortedNameSet base, Map<String, Long> expiries, Map<String, Long> ops) {
+		List<String> added = new ArrayList<>();
+		List<String> removed = new ArrayList<>();
+		ops.forEach((key, expiry) -> {
+			if (expiry == REMOVED) {
+				removed.add(key);
+				expiries.remove(key);
+			} else {
+				added.add(key);
+				if (expiry == PERMANENT) {
+					expiries.remove(key);
+				} else {
+					expiries.put(key, expiry);
+				}
+			}
+		});
+		return View.of(base.merge(added, removed), Map.copyOf(expiries));
+	}
+
+	/**
+	 * Apply one journal line; the last operation on a key wins.
+	 */
+	private static void replay(Map<String, Long> ops, String line) {
+		if (line.length() < 2) {
+			return;
+		}
+		int tab = line.indexOf('\t');
+		String key = line.substring(1, tab < 0 ? line.length() : tab);
+		switch (line.charAt(0)) {
+			case '+' -> {
+				ops.remove(key);
+				ops.put(key, tab < 0 ? PERMANENT : parseExpiry(line.substring(tab + 1)));
+			}
+			case '-' -> {
+				ops.remove(key);
+				ops.put(key, REMOVED);
+			}
+			default -> LOGGER.warn("Ignoring malformed silent ban journal entry: {}", line);
+		}
+	}
+
+	/**
+	 * An unreadable expiry keeps the ban permanent rather than silently lifting it.
+	 */
+	private static long parseExpiry(String value) {
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			LOGGER.warn("Ignoring malformed silent ban expiry: {}", value);
+			return PERMANENT;
+		}
+	}
+
+	private static byte[] readFrom(FileChannel channel, long from) throws IOException {
+		long size = channel.size();
+		if (from >= size) {
+			return new byte[0];
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(size - from));
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, from + buffer.position()) < 0) {
+				throw new EOFException();
+			}
+		}
+		return buffer.array();
+	}
+
+	private static int indexOf(byte[] bytes, byte value, int from) {
+		for (int i = from; i < bytes.length; i++) {
+			if (bytes[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static int count(byte[] bytes, byte value) {
+		int count = 0;
+		for (byte b : bytes) {
+			if (b == value) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Immutable ban set as login threads see it. {@code added} never overlaps {@code base}; {@code removed} is always
+	 * a subset of it. {@code expiries} holds the temporary bans only.
+	 */
+	private record View(SortedNameSet base, BloomFilter bloom, Set<String> added, Set<String> removed, Map<String, Long> expiries) {
+		static View of(SortedNameSet base, Map<String, Long> expiries) {
+			BloomFilter bloom = new BloomFilter(base.size());
+			base.addTo(bloom);
+			return new View(base, bloom, Set.of(), Set.of(), expiries);
+		}
+
+		boolean contains(String key) {
+			return contains(key, expiries.isEmpty() ? 0L : System.currentTimeMillis());
+		}
+
+		/**
+		 * Membership at {@code now}; a lapsed temporary ban counts as absent even before it is swept.
+		 */
+		boolean contains(String key, long now) {
+			if (!removed.isEmpty() && removed.contains(key)) {
+				return false;
+			}
+			if (!expiries.isEmpty()) {
+				Long expiresAt = expiries.get(key);
+				if (expiresAt != null && expiresAt <= now) {
+					return false;
+				}
+			}
+			if (!added.isEmpty() && added.contains(key)) {
+				return true;
+			}
+			byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+			return bloom.mightContain(bytes) && base.contains(bytes);
+		}
+
+		int size() {
+			return base.size() + added.size() - removed.size();
+		}
+
+		View compacted() {
+			return added.isEmpty() && removed.isEmpty() ? this : of(base.merge(added, removed), expiries);
+		}
+	}
+}
@@ -1,48 +1,75 @@
 package com.example;
 
+import com.example.mixin.ServerCommonPacketListenerImplAccessor;
+import com.example.mixin.ServerLoginPacketListenerImplAccessor;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerLoginConnectionEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
-import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.commands.arguments.UuidArgument;
+import net.minecraft.Util;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.network.ServerLoginPacketListenerImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Random;
-import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
 
 import static net.minecraft.commands.Commands.argument;
 import static net.minecraft.commands.Commands.literal;
 
 /**
  * Simple silent-ban manager.
- * - Keeps an in-memory, lowercase set of usernames.
- * - Blocks login in the ALLOW_LOGIN phase with a believable error string (no ban wording).
- * - Exposes /silentban and /silentunban commands for ops (permission level >= 3).
+ * - Keeps a set of ban keys that login threads read lock-free, journaled to disk on every change. A key is a lowercase
+ *   username, a UUID, or an IPv4/IPv6 range such as 203.0.113.0/24; the three forms never collide.
+ * - Address ranges are also indexed in an {@link AddressTrie}, so an address check costs at most 128 steps.
+ * - Blocks login in the ALLOW_LOGIN phase with a believable error string (no ban wording); the join fallback runs the
+ *   same check.
+ * - Exposes /silentban and /silentunban commands for ops (permission level >= 3), plus /silentban import|export for
+ *   bulk lists in the config directory.
+ * - /silentban <name> <duration> bans temporarily (e.g. 30m, 12h, 7d, 1d12h); lapsed bans are swept every tick.
+ * - /silentban uuid <uuid> [duration] and /silentban ip <range> [duration] ban accounts and addresses.
+ *   /silentban name <username> [duration] is the explicit form for players whose name is a subcommand, e.g. "ip".
  */
 public final class SilentBlocker {
 	private static final Logger LOGGER = LoggerFactory.getLogger("modid-silentban");
-	private static final Path BAN_FILE = FabricLoader.getInstance().getConfigDir().resolve("modid-silentbans.txt");
-	private static final Set<String> SILENT_BANNED = new HashSet<>();
+	private static final Path CONFIG_DIR = FabricLoader.getInstance().getConfigDir().toAbsolutePath().normalize();
+	private static final Path BAN_FILE = CONFIG_DIR.resolve("modid-silentbans.txt");
+	private static final Path JOURNAL_FILE = CONFIG_DIR.resolve("modid-silentbans.journal");
+	private static final int SUGGESTION_LIMIT = 50;
+	private static final long MAX_DURATION_MILLIS = 3650L * 24 * 60 * 60 * 1000;
+	// Read from Netty login threads, written from commands on the server thread.
+	private static final SilentBanStore SILENT_BANNED = new SilentBanStore(BAN_FILE, JOURNAL_FILE);
+	// Address-range keys of SILENT_BANNED; rebuilt or path-copied on the server thread. Unbanned or lapsed ranges may
+	// linger until the next rebuild, so every hit is confirmed against the store.
+	private static volatile AddressTrie ADDRESS_BANS = AddressTrie.EMPTY;
 	private static final List<Component> ERROR_MESSAGES = List.of(
 		Component.literal("Internal exception: java.io.IOException: Connection reset"),
 		Component.literal("Failed to verify username."),
@@ -57,7 +84,9 @@ public final class SilentBlocker {
 	public static void register() {
 		// Persist bans between restarts.
 		ServerLifecycleEvents.SERVER_STARTED.register(server -> loadFromDisk());
-		ServerLifecycleEvents.SERVER_STOPPED.register(server -> saveToDisk());
+		ServerLifecycleEvents.SERVER_STOPPED.register(server -> SILENT_BANNED.close());
+		// Temporary bans are already ignored once lapsed; this just drops them from the store and the files.
+		ServerTickEvents.END_SERVER_TICK.register(server -> SILENT_BANNED.sweepExpired(System.currentTimeMillis()));
 
 		// Login hook: deny login with a fake error if the name is silently banned.
 		ServerLoginConnectionEvents.INIT.register((handler, server) -> onLoginCheck(handler));
@@ -70,26 +99,45 @@ public final class SilentBlocker {
 	}
 
 	private static void onLoginCheck(ServerLoginPacketListenerImpl handler) {
-		// Use the requested username (set after the client hello) and block immediately if banned.
-		String username = handler.getUserName();
-		if (username == null) {
-			return;
-		}
-
-		String nameKey = normalize(username);
-		if (SILENT_BANNED.contains(nameKey)) {
+		// The address is known from INIT; the requested username and the profile arrive with the client hello.
+		var accessor = (ServerLoginPacketListenerImplAccessor) handler;
+		var profile = accessor.getAuthenticatedProfile();
+		if (isSilentlyBanned(handler.getUserName(), profile == null ? null : profile.id(), accessor.getConnection().getRemoteAddress())) {
+			FakeMetrics.SILENT_BAN_DENIALS.increment();
 			handler.disconnect(randomError());
 		}
 	}
 
-	private static void onJoinCheck(net.minecraft.server.level.ServerPlayer player) {
-		String username = player.getGameProfile().name();
-		String nameKey = normalize(username);
-		if (SILENT_BANNED.contains(nameKey)) {
+	private static void onJoinCheck(ServerPlayer player) {
+		if (isSilentlyBanned(player)) {
+			FakeMetrics.SILENT_BAN_DENIALS.increment();
 			player.connection.disconnect(randomError());
 		}
 	}
 
+	private static boolean isSilentlyBanned(ServerPlayer player) {
+		SocketAddress address = ((ServerCommonPacketListenerImplAccessor) player.connection).getConnection().getRemoteAddress();
+		return isSilentlyBanned(player.getGameProfile().name(), player.getUUID(), address);
+	}
+
+	/**
+	 * One check for login and join. The username lookup runs first and is unchanged; the UUID costs one more bloom
+	 * probe, and the address trie is skipped entirely while no ranges are banned.
+	 */
+	private static boolean isSilentlyBanned(String username, UUID uuid, SocketAddress address) {
+		if (username != null && SILENT_BANNED.contains(normalize(username))) {
+			return true;
+		}
+		if (uuid != null && SILENT_BANNED.contains(uuid.toString())) {
+			return true;
+		}
+		AddressTrie ranges = ADDRESS_BANS;
+		return !ranges.isEmpty()
+			&& address instanceof InetSocketAddress inet
+			&& inet.getAddress() != null
+			&& ranges.matches(inet.getAddress(), SILENT_BANNED::contains);
+	}
+
 	private static void registerCommands(CommandDispatcher<CommandSourceStack> dispatcher, CommandBuildContext registryAccess, Commands.CommandSelection environment) {
 		dispatcher.register(buildBanCommand());
 		dispatcher.register(buildUnbanCommand());
@@ -98,55 +146,123 @@ public final class SilentBlocker {
 	private static LiteralArgumentBuilder<CommandSourceStack> buildBanCommand() {
 		return literal("silentban")
 			.requires(src -> src.hasPermission(3))
+			.then(literal("import")
+				.then(argument("file", StringArgumentType.greedyString())
+					.executes(SilentBlocker::executeImport)))
+			.then(literal("export")
+				.then(argument("file", StringArgumentType.greedyString())
+					.executes(SilentBlocker::executeExport)))
+			.then(literal("uuid")
+				.then(argument("uuid", UuidArgument.uuid())
+					.executes(ctx -> executeBanKey(ctx, UuidArgument.getUuid(ctx, "uuid").toString(), null))
+					.then(argument("duration", StringArgumentType.word())
+						.executes(ctx -> executeBanKey(ctx, UuidArgument.getUuid(ctx, "uuid").toString(), StringArgumentType.getString(ctx, "duration"))))))
+			// Greedy, as unquoted strings stop at '/' and ':'; the optional duration is split off the end.
+			.then(literal("ip")
+				.then(argument("range", StringArgumentType.greedyString())
+					.executes(SilentBlocker::executeBanRange)))
+			.then(literal("name")
+				.then(usernameBan()))
 			.then(argument("targets", net.minecraft.commands.arguments.EntityArgument.players())
 				.executes(SilentBlocker::executeBanTargets))
-			.then(argument("username", StringArgumentType.word())
-				.executes(SilentBlocker::executeBan));
+			.then(usernameBan());
+	}
+
+	private static RequiredArgumentBuilder<CommandSourceStack, String> usernameBan() {
+		return argument("username", StringArgumentType.word())
+			.executes(ctx -> executeBanKey(ctx, normalize(StringArgumentType.getString(ctx, "username")), null))
+			.then(argument("duration", StringArgumentType.word())
+				.executes(ctx -> executeBanKey(ctx, normalize(StringArgumentType.getString(ctx, "username")), StringArgumentType.getString(ctx, "duration"))));
 	}
 
 	private static LiteralArgumentBuilder<CommandSourceStack> buildUnbanCommand() {
 		return literal("silentunban")
 			.requires(src -> src.hasPermission(3))
-			.then(argument("username", StringArgumentType.word())
-				.suggests(SilentBlocker::suggestBannedUsernames)
-				.executes(SilentBlocker::executeUnban));
+			.then(literal("uuid")
+				.then(argument("uuid", UuidArgument.uuid())
+					.suggests((ctx, builder) -> suggestBanned(builder, SilentBlocker::isUuidKey))
+					.executes(ctx -> executeUnbanKey(ctx, UuidArgument.getUuid(ctx, "uuid").toString()))))
+			.then(literal("ip")
+				.then(argument("range", StringArgumentType.greedyString())
+					.suggests((ctx, builder) -> suggestBanned(builder, SilentBlocker::isRangeKey))
+					.executes(SilentBlocker::executeUnbanRange)))
+			.then(literal("name")
+				.then(usernameUnban()))
+			.then(usernameUnban());
 	}
 
-	private static int executeBan(CommandContext<CommandSourceStack> ctx) {
-		String raw = StringArgumentType.getString(ctx, "username");
-		String key = normalize(raw);
+	private static RequiredArgumentBuilder<CommandSourceStack, String> usernameUnban() {
+		return argument("username", StringArgumentType.word())
+			.suggests((ctx, builder) -> suggestBanned(builder, SilentBlocker::isUsernameKey))
+			.executes(ctx -> executeUnbanKey(ctx, normalize(StringArgumentType.getString(ctx, "username"))));
+	}
 
-		if (!SILENT_BANNED.add(key)) {
-			ctx.getSource().sendFailure(Component.literal(raw + " is already silently banned."));
+	private static int executeBanRange(CommandContext<CommandSourceStack> ctx) {
+		String spec = StringArgumentType.getString(ctx, "range").strip();
+		int space = indexOfWhitespace(spec);
+		String raw = space < 0 ? spec : spec.substring(0, space);
+		String rawDuration = space < 0 ? null : spec.substring(space).strip();
+		AddressTrie.Range range = AddressTrie.Range.parse(raw);
+		if (range == null) {
+			ctx.getSource().sendFailure(Component.literal("Invalid address or range '" + raw + "'. Use e.g. 203.0.113.7, 203.0.113.0/24 or 2001:db8::/32."));
 			return 0;
 		}
+		return executeBanKey(ctx, range.key(), rawDuration);
+	}
 
-		saveToDisk();
+	/**
+	 * Ban one key, permanently when {@code rawDuration} is null, and drop every online player it now covers.
+	 */
+	private static int executeBanKey(CommandContext<CommandSourceStack> ctx, String key, String rawDuration) {
+		boolean wasBanned = SILENT_BANNED.contains(key);
+		if (rawDuration == null) {
+			if (!SILENT_BANNED.add(key)) {
+				ctx.getSource().sendFailure(Component.literal(key + " is already silently banned."));
+				return 0;
+			}
+		} else {
+			long duration = parseDuration(rawDuration);
+			if (duration <= 0L) {
+				ctx.getSource().sendFailure(Component.literal("Invalid duration '" + rawDuration + "'. Use e.g. 30m, 12h, 7d or 1d12h."));
+				return 0;
+			}
+			if (!SILENT_BANNED.add(key, System.currentTimeMillis() + duration)) {
+				ctx.getSource().sendFailure(Component.literal(key + " is already permanently silently banned."));
+				return 0;
+			}
+		}
+		AddressTrie.Range range = AddressTrie.Range.parse(key);
+		if (range != null) {
+			ADDRESS_BANS = ADDRESS_BANS.with(range);
+		}
 
 		// If they're online right now, drop them immediately with a fake error.
-		var online = ctx.getSource().getServer().getPlayerList().getPlayerByName(raw);
-		if (online != null) {
-			online.connection.disconnect(randomError());
-		}
+		kickBannedPlayers(ctx.getSource().getServer());
 
-		ctx.getSource().sendSuccess(() -> Component.literal("Silently banned " + raw + "."), false);
+		String message = rawDuration == null
+			? "Silently banned " + key + "."
+			: (wasBanned ? "Extended silent ban on " : "Silently banned ") + key + " for " + rawDuration.toLowerCase(Locale.ROOT) + ".";
+		ctx.getSource().sendSuccess(() -> Component.literal(message), false);
 		return 1;
 	}
 
 	private static int executeBanTargets(CommandContext<CommandSourceStack> ctx) throws com.mojang.brigadier.exceptions.CommandSyntaxException {
 		var targets = net.minecraft.commands.arguments.EntityArgument.getPlayers(ctx, "targets");
-		int added = 0;
+		List<String> keys = new ArrayList<>(targets.size());
+		List<net.minecraft.server.level.ServerPlayer> newlyBanned = new ArrayList<>(targets.size());
 		for (var player : targets) {
-			String raw = player.getGameProfile().name();
-			String key = normalize(raw);
-			if (SILENT_BANNED.add(key)) {
-				added++;
-				// Optionally kick immediately with a believable error.
-				player.connection.disconnect(randomError());
+			String key = normalize(player.getGameProfile().name());
+			if (!SILENT_BANNED.contains(key)) {
+				keys.add(key);
+				newlyBanned.add(player);
 			}
 		}
+		int added = SILENT_BANNED.addAll(keys);
 		if (added > 0) {
-			saveToDisk();
+			for (var player : newlyBanned) {
+				// Optionally kick immediately with a believable error.
+				player.connection.disconnect(randomError());
+			}
 			final int total = added;
 			ctx.getSource().sendSuccess(() -> Component.literal("Silently banned " + total + " player(s)."), false);
 			return added;
@@ -155,22 +271,208 @@ public final class SilentBlocker {
 		return 0;
 	}
 
-	private static int executeUnban(CommandContext<CommandSourceStack> ctx) {
-		String raw = StringArgumentType.getString(ctx, "username");
-		String key = normalize(raw);
+	private static int executeUnbanRange(CommandContext<CommandSourceStack> ctx) {
+		String raw = StringArgumentType.getString(ctx, "range").strip();
+		AddressTrie.Range range = AddressTrie.Range.parse(raw);
+		if (range == null) {
+			ctx.getSource().sendFailure(Component.literal("Invalid address or range '" + raw + "'."));
+			return 0;
+		}
+		ADDRESS_BANS = ADDRESS_BANS.without(range);
+		return executeUnbanKey(ctx, range.key());
+	}
 
+	private static int executeUnbanKey(CommandContext<CommandSourceStack> ctx, String key) {
 		if (SILENT_BANNED.remove(key)) {
-			saveToDisk();
-			ctx.getSource().sendSuccess(() -> Component.literal("Silently unbanned " + raw + "."), false);
+			ctx.getSource().sendSuccess(() -> Component.literal("Silently unbanned " + key + "."), false);
 			return 1;
 		}
 
-		ctx.getSource().sendFailure(Component.literal(raw + " was not silently banned."));
+		ctx.getSource().sendFailure(Component.literal(key + " was not silently banned."));
 		return 0;
 	}
 
-	private static java.util.concurrent.CompletableFuture<Suggestions> suggestBannedUsernames(CommandContext<CommandSourceStack> ctx, SuggestionsBuilder builder) {
-		return SharedSuggestionProvider.suggest(SILENT_BANNED.stream().toList(), builder);
+	/**
+	 * Read a list on the IO pool and merge it in one go; online players who are now banned get dropped afterwards.
+	 */
+	private static int executeImport(CommandContext<CommandSourceStack> ctx) {
+		String raw = StringArgumentType.getString(ctx, "file");
+		Path file = resolveInConfigDir(raw);
+		if (file == null) {
+			ctx.getSource().sendFailure(Component.literal("Import file must be inside the config directory."));
+			return 0;
+		}
+		if (!Files.isRegularFile(file)) {
+			ctx.getSource().sendFailure(Component.literal(raw + " does not exist."));
+			return 0;
+		}
+		CommandSourceStack source = ctx.getSource();
+		MinecraftServer server = source.getServer();
+		source.sendSuccess(() -> Component.literal("Importing silent bans from " + raw + "..."), false);
+		Util.ioPool().execute(() -> {
+			try {
+				List<String> names = readNameList(file);
+				int added = SILENT_BANNED.importAll(names);
+				server.execute(() -> {
+					rebuildAddressBans();
+					kickBannedPlayers(server);
+					source.sendSuccess(() -> Component.literal("Imported " + names.size() + " names from " + raw + ", " + added + " new."), true);
+				});
+			} catch (IOException | RuntimeException e) {
+				LOGGER.warn("Failed to import silent bans from {}", file, e);
+				server.execute(() -> source.sendFailure(Component.literal("Import from " + raw + " failed: " + e.getMessage())));
+			}
+		});
+		return 1;
+	}
+
+	private static void kickBannedPlayers(MinecraftServer server) {
+		for (ServerPlayer player : List.copyOf(server.getPlayerList().getPlayers())) {
+			if (isSilentlyBanned(player)) {
+				player.connection.disconnect(randomError());
+			}
+		}
+	}
+
+	private static int executeExport(CommandContext<CommandSourceStack> ctx) {
+		String raw = StringArgumentType.getString(ctx, "file");
+		Path file = resolveInConfigDir(raw);
+		if (file == null || file.equals(BAN_FILE) || file.equals(JOURNAL_FILE)) {
+			ctx.getSource().sendFailure(Component.literal("Export file must be inside the config directory and not the ban store itself."));
+			return 0;
+		}
+		CommandSourceStack source = ctx.getSource();
+		MinecraftServer server = source.getServer();
+		Util.ioPool().execute(() -> {
+			try {
+				Files.createDirectories(file.getParent());
+				int written = SILENT_BANNED.exportTo(file);
+				server.execute(() -> source.sendSuccess(() -> Component.literal("Exported " + written + " silent bans to " + raw + "."), false));
+			} catch (IOException e) {
+				LOGGER.warn("Failed to export silent bans to {}", file, e);
+				server.execute(() -> source.sendFailure(Component.literal("Export to " + raw + " failed: " + e.getMessage())));
+			}
+		});
+		return 1;
+	}
+
+	/**
+	 * Resolve a command-supplied path against the config directory, or null if it would escape it.
+	 */
+	private static Path resolveInConfigDir(String raw) {
+		try {
+			Path file = CONFIG_DIR.resolve(raw).normalize();
+			return file.startsWith(CONFIG_DIR) && !file.equals(CONFIG_DIR) ? file : null;
+		} catch (InvalidPathException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * One name, UUID or address range per line; blank lines and {@code #} comments are skipped, and anything after the
+	 * first whitespace is ignored so annotated lists work as-is.
+	 */
+	private static List<String> readNameList(Path file) throws IOException {
+		List<String> names = new ArrayList<>();
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			for (String line; (line = reader.readLine()) != null; ) {
+				String trimmed = line.strip();
+				if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+					continue;
+				}
+				int space = indexOfWhitespace(trimmed);
+				names.add(toBanKey(space < 0 ? trimmed : trimmed.substring(0, space)));
+			}
+		}
+		return names;
+	}
+
+	private static int indexOfWhitespace(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			if (Character.isWhitespace(value.charAt(i))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Suggest banned keys of one kind only, so each argument is offered keys it can actually parse.
+	 */
+	private static java.util.concurrent.CompletableFuture<Suggestions> suggestBanned(SuggestionsBuilder builder, Predicate<String> kind) {
+		// Served from the sorted index and capped, so a huge list costs one binary search per keystroke.
+		for (String key : SILENT_BANNED.suggest(builder.getRemainingLowerCase(), SUGGESTION_LIMIT, kind)) {
+			builder.suggest(key);
+		}
+		return builder.buildFuture();
+	}
+
+	private static boolean isUuidKey(String key) {
+		return key.length() == 36 && key.charAt(8) == '-' && key.charAt(13) == '-' && key.charAt(18) == '-' && key.charAt(23) == '-';
+	}
+
+	private static boolean isRangeKey(String key) {
+		// Canonical range keys always carry their prefix length; names and UUIDs never contain a slash.
+		return key.indexOf('/') >= 0;
+	}
+
+	private static boolean isUsernameKey(String key) {
+		return !isUuidKey(key) && !isRangeKey(key);
+	}
+
+	/**
+	 * Parse durations like {@code 90s}, {@code 30m}, {@code 12h}, {@code 7d}, {@code 2w} and combinations such as
+	 * {@code 1d12h}. Returns -1 if the text is not a valid, positive duration of at most ten years.
+	 */
+	private static long parseDuration(String raw) {
+		String text = raw.toLowerCase(Locale.ROOT);
+		long total = 0L;
+		int i = 0;
+		if (text.isEmpty()) {
+			return -1L;
+		}
+		while (i < text.length()) {
+			int start = i;
+			while (i < text.length() && Character.isDigit(text.charAt(i))) {
+				i++;
+			}
+			if (i == start || i == text.length() || i - start > 9) {
+				return -1L;
+			}
+			long amount = Long.parseLong(text.substring(start, i));
+			long unit = switch (text.charAt(i)) {
+				case 's' -> 1000L;
+				case 'm' -> 60_000L;
+				case 'h' -> 3_600_000L;
+				case 'd' -> 86_400_000L;
+				case 'w' -> 604_800_000L;
+				default -> -1L;
+			};
+			if (unit < 0L) {
+				return -1L;
+			}
+			total += amount * unit;
+			if (total > MAX_DURATION_MILLIS) {
+				return -1L;
+			}
+			i++;
+		}
+		return total > 0L ? total : -1L;
+	}
+
+	/**
+	 * Canonical store key for a username, UUID or address range, so equal bans written differently share one entry.
+	 */
+	private static String toBanKey(String raw) {
+		if (raw.length() == 36 && raw.indexOf('-') > 0) {
+			try {
+				return UUID.fromString(raw).toString();
+			} catch (IllegalArgumentException ignored) {
+				// Not a UUID after all; fall through.
+			}
+		}
+		AddressTrie.Range range = AddressTrie.Range.parse(raw);
+		return range != null ? range.key() : normalize(raw);
 	}
 
 	private static String normalize(String name) {
@@ -181,31 +483,29 @@ public final class SilentBlocker {
 		return ERROR_MESSAGES.get(RANDOM.nextInt(ERROR_MESSAGES.size()));
 	}
 
-	private static void loadFromDisk() {
-		if (!Files.exists(BAN_FILE)) {
-			return;
-		}
-		try {
-			List<String> lines = Files.readAllLines(BAN_FILE, StandardCharsets.UTF_8);
-			SILENT_BANNED.clear();
-			for (String line : lines) {
-				String trimmed = line.trim();
-				if (!trimmed.isEmpty()) {
-					SILENT_BANNED.add(normalize(trimmed));
+	/**
+	 * Rebuild the range trie from the store, which also drops ranges that were unbanned or lapsed.
+	 */
+	private static void rebuildAddressBans() {
+		List<AddressTrie.Range> ranges = new ArrayList<>();
+		SILENT_BANNED.forEach(key -> {
+			if (isRangeKey(key)) {
+				AddressTrie.Range range = AddressTrie.Range.parse(key);
+				if (range != null) {
+					ranges.add(range);
 				}
 			}
-			LOGGER.info("Loaded {} silent bans.", SILENT_BANNED.size());
-		} catch (IOException e) {
-			LOGGER.warn("Failed to load silent bans from {}", BAN_FILE, e);
+		});
+		AddressTrie trie = AddressTrie.EMPTY;
+		for (AddressTrie.Range range : ranges) {
+			trie = trie.with(range);
 		}
+		ADDRESS_BANS = trie;
 	}
 
-	private static void saveToDisk() {
-		try {
-			Files.createDirectories(BAN_FILE.getParent());
-			Files.write(BAN_FILE, SILENT_BANNED, StandardCharsets.UTF_8);
-		} catch (IOException e) {
-			LOGGER.warn("Failed to save silent bans to {}", BAN_FILE, e);
-		}
+	private static void loadFromDisk() {
+		SILENT_BANNED.load();
+		rebuildAddressBans();
+		LOGGER.info("Loaded {} silent bans.", SILENT_BANNED.size());
 	}
 }
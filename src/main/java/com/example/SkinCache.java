@@ -0,0 +1,258 @@
+package com.example;
+
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Two-tier store of signed skin textures keyed by session-server profile UUID.
+ * <p>
+ * The memory tier is a small access-ordered LRU. Behind it sits an append-only file in the config dir: one record per
+ * fetch (UUID, fetch time, value, signature), last record wins. Only an offset index is kept for the disk tier, so a
+ * large cache costs a few dozen bytes per skin until it is actually read. The file is scanned once when opened, cut
+ * back to its last whole record if a write was torn, and rewritten without superseded or long-expired records when
+ * those dominate, both at open and from the resolver's periodic {@link #maintain}.
+ * <p>
+ * Entries older than {@link #TTL_MILLIS} are still served (a stale skin beats the default one) but report
+ * {@link #isDueForRefresh} well before that point so callers can refetch in the background.
+ * <p>
+ * All methods are synchronized; callers are the server thread and skin fetch workers. Disk failures are logged and
+ * leave the memory tier working on its own.
+ */
+final class SkinCache {
+	static final long TTL_MILLIS = 24L * 60 * 60 * 1000;
+	private static final long REFRESH_AHEAD_MILLIS = TTL_MILLIS / 4;
+	private static final long DISCARD_AFTER_MILLIS = 30 * TTL_MILLIS;
+	private static final int MEMORY_ENTRIES = 256;
+	private static final int MAGIC = 0x46505348; // "FPSH"
+	private static final int FORMAT_VERSION = 1;
+	private static final int HEADER_BYTES = 8;
+	// UUID (two longs) plus fetch time precede the two UTF strings of each record.
+	private static final int TEXT_OFFSET = 24;
+
+	private final Path file;
+	private final Map<UUID, Entry> memory = new LinkedHashMap<>(64, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+			return size() > MEMORY_ENTRIES;
+		}
+	};
+	private final Map<UUID, Located> index = new HashMap<>();
+	private RandomAccessFile disk;
+	private int records;
+
+	private SkinCache(Path file) {
+		this.file = file;
+	}
+
+	/**
+	 * Open (or create) the cache file in the Fabric config dir and index its records.
+	 */
+	static SkinCache open() {
+		return open(FabricLoader.getInstance().getConfigDir().resolve(ExampleMod.MOD_ID + "-skins.bin"));
+	}
+
+	static SkinCache open(Path file) {
+		SkinCache cache = new SkinCache(file);
+		try {
+			cache.load(System.currentTimeMillis());
+		} catch (IOException e) {
+			ExampleMod.LOGGER.warn("[FakePlayers] Skin cache {} unavailable, continuing without disk tier.", file, e);
+			cache.closeDisk();
+		}
+		return cache;
+	}
+
+	synchronized Entry get(UUID skinUuid) {
+		Entry entry = memory.get(skinUuid);
+		if (entry != null) {
+			return entry;
+		}
+		Located located = index.get(skinUuid);
+		if (located == null || disk == null) {
+			return null;
+		}
+		try {
+			disk.seek(located.offset());
+			disk.skipBytes(TEXT_OFFSET);
+			entry = new Entry(new SkinTextures(disk.readUTF(), disk.readUTF()), located.fetchedAt());
+		} catch (IOException e) {
+			ExampleMod.LOGGER.warn("[FakePlayers] Failed to read skin {} from {}", skinUuid, file, e);
+			index.remove(skinUuid);
+			return null;
+		}
+		memory.put(skinUuid, entry);
+		return entry;
+	}
+
+	synchronized void put(UUID skinUuid, SkinTextures textures, long fetchedAt) {
+		memory.put(skinUuid, new Entry(textures, fetchedAt));
+		if (disk == null) {
+			return;
+		}
+		try {
+			long offset = disk.length();
+			disk.seek(offset);
+			disk.write(encode(skinUuid, textures, fetchedAt));
+			index.put(skinUuid, new Located(offset, fetchedAt));
+			records++;
+		} catch (IOException e) {
+			ExampleMod.LOGGER.warn("[FakePlayers] Failed to append to skin cache {}, disabling disk tier.", file, e);
+			closeDisk();
+		}
+	}
+
+	static boolean isDueForRefresh(Entry entry, long now) {
+		return isDueForRefresh(entry.fetchedAt(), now);
+	}
+
+	static boolean isDueForRefresh(long fetchedAt, long now) {
+		return now - fetchedAt >= TTL_MILLIS - REFRESH_AHEAD_MILLIS;
+	}
+
+	synchronized void close() {
+		closeDisk();
+		memory.clear();
+		index.clear();
+	}
+
+	private void load(long now) throws IOException {
+		Files.createDirectories(file.getParent());
+		disk = new RandomAccessFile(file.toFile(), "rw");
+		if (disk.length() < HEADER_BYTES || disk.readInt() != MAGIC || disk.readInt() != FORMAT_VERSION) {
+			writeHeader(disk);
+			return;
+		}
+		long end = disk.length();
+		long position = HEADER_BYTES;
+		while (position < end) {
+			// Check every declared length against the file size: skipBytes stops quietly at EOF.
+			long valueAt = position + TEXT_OFFSET;
+			if (valueAt + 2 > end) {
+				break;
+			}
+			UUID id = new UUID(disk.readLong(), disk.readLong());
+			long fetchedAt = disk.readLong();
+			long signatureAt = valueAt + 2 + disk.readUnsignedShort();
+			if (signatureAt + 2 > end) {
+				break;
+			}
+			disk.seek(signatureAt);
+			long next = signatureAt + 2 + disk.readUnsignedShort();
+			if (next > end) {
+				break;
+			}
+			index.put(id, new Located(position, fetchedAt));
+			records++;
+			position = next;
+			disk.seek(position);
+		}
+		if (position < end) {
+			// Torn write from a crash: keep everything before it so later appends stay readable.
+			ExampleMod.LOGGER.warn("[FakePlayers] Skin cache {} ends in a partial record, truncating {} bytes.", file, end - position);
+			disk.setLength(position);
+		}
+		discardExpired(now);
+	}
+
+	/**
+	 * Fetch time of the cached skin without reading its textures, or {@link Long#MIN_VALUE} when it is not cached.
+	 */
+	synchronized long fetchedAt(UUID skinUuid) {
+		Entry entry = memory.get(skinUuid);
+		if (entry != null) {
+			return entry.fetchedAt();
+		}
+		Located located = index.get(skinUuid);
+		return located != null ? located.fetchedAt() : Long.MIN_VALUE;
+	}
+
+	/**
+	 * Forget long-expired skins and compact the file once superseded records dominate it.
+	 */
+	synchronized void maintain(long now) {
+		if (disk == null) {
+			return;
+		}
+		try {
+			discardExpired(now);
+		} catch (IOException e) {
+			ExampleMod.LOGGER.warn("[FakePlayers] Failed to compact skin cache {}, disabling disk tier.", file, e);
+			closeDisk();
+		}
+	}
+
+	private void discardExpired(long now) throws IOException {
+		index.values().removeIf(located -> now - located.fetchedAt() > DISCARD_AFTER_MILLIS);
+		if (records > 2 * index.size() + 64) {
+			compact();
+		}
+	}
+
+	/**
+	 * Rewrite the file with only the live records, then swap it in place.
+	 */
+	private void compact() throws IOException {
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		Map<UUID, Located> compacted = new HashMap<>();
+		try (RandomAccessFile out = new RandomAccessFile(temp.toFile(), "rw")) {
+			writeHeader(out);
+			for (Map.Entry<UUID, Located> live : index.entrySet()) {
+				disk.seek(live.getValue().offset() + TEXT_OFFSET);
+				SkinTextures textures = new SkinTextures(disk.readUTF(), disk.readUTF());
+				compacted.put(live.getKey(), new Located(out.getFilePointer(), live.getValue().fetchedAt()));
+				out.write(encode(live.getKey(), textures, live.getValue().fetchedAt()));
+			}
+		}
+		disk.close();
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		disk = new RandomAccessFile(file.toFile(), "rw");
+		index.clear();
+		index.putAll(compacted);
+		records = compacted.size();
+	}
+
+	private static void writeHeader(RandomAccessFile out) throws IOException {
+		out.setLength(0);
+		out.seek(0);
+		out.writeInt(MAGIC);
+		out.writeInt(FORMAT_VERSION);
+	}
+
+	private static byte[] encode(UUID id, SkinTextures textures, long fetchedAt) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeLong(id.getMostSignificantBits());
+		out.writeLong(id.getLeastSignificantBits());
+		out.writeLong(fetchedAt);
+		out.writeUTF(textures.value());
+		out.writeUTF(textures.signature());
+		return bytes.toByteArray();
+	}
+
+	private void closeDisk() {
+		if (disk == null) {
+			return;
+		}
+		try {
+			disk.close();
+		} catch (IOException ignored) {
+			// Nothing left to flush; writes go straight to the file.
+		}
+		disk = null;
+	}
+
+	record Entry(SkinTextures textures, long fetchedAt) {}
+
+	private record Located(long offset, long fetchedAt) {}
+}
@@ -0,0 +1,300 @@
+package com.example;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fetches signed skin textures from a session server off the server thread.
+ * <p>
+ * Each lookup runs on its own virtual thread; a semaphore caps how many requests are in flight at once, so a large
+ * roster queues cheaply instead of opening hundreds of connections. The base URL is configurable so the pipeline can
+ * be pointed at a local stand-in session server.
+ * <p>
+ * Results land in a {@link SkinCache}, which outlives the resolver. Cached entries are served whatever their age;
+ * one that is close to expiry is refetched in the background the next time it is asked for, or by the hourly
+ * maintenance task, which also compacts the cache file, if nothing asks for it in the meantime.
+ * <p>
+ * To keep the request count down for large rosters: concurrent lookups of one UUID share a single fetch, requests
+ * draw from a {@link TokenBucket} sized under the session server's rate limit, a 429 pauses the bucket (honouring
+ * {@code Retry-After}, otherwise backing off exponentially), and misses and failures are remembered for a while so
+ * reloads do not keep retrying them.
+ */
+final class SkinResolver {
+	static final String DEFAULT_SESSION_SERVER = "https://sessionserver.mojang.com";
+
+	private static final int BURST = 10;
+	private static final int REQUESTS_PER_MINUTE = 60;
+	private static final int MAX_RATE_LIMIT_RETRIES = 3;
+	private static final long MIN_BACKOFF_MILLIS = 5_000L;
+	private static final long MAX_BACKOFF_MILLIS = 5 * 60_000L;
+	// A profile without textures is unlikely to gain one soon; a network or server error may clear up quickly.
+	private static final long MISSING_TTL_MILLIS = 60 * 60_000L;
+	private static final long FAILURE_TTL_MILLIS = 10 * 60_000L;
+	private static final long MAINTENANCE_INTERVAL_MILLIS = 60 * 60_000L;
+
+	private final String sessionServer;
+	private final int maxConcurrent;
+	private final Semaphore permits;
+	private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+		Thread.ofVirtual().name("modid-skin-", 0).factory()
+	);
+	private final HttpClient httpClient = HttpClient.newBuilder()
+		.connectTimeout(Duration.ofSeconds(5))
+		.build();
+	private final SkinCache cache;
+	private final Map<UUID, CompletableFuture<SkinTextures>> inFlight = new ConcurrentHashMap<>();
+	private final Map<UUID, Long> negativeUntil = new ConcurrentHashMap<>();
+	private final TokenBucket limiter = new TokenBucket(BURST, REQUESTS_PER_MINUTE);
+	private final AtomicLong backoffMillis = new AtomicLong();
+	// Skins the roster has asked for; only these are refreshed ahead of expiry.
+	private final Set<UUID> requested = ConcurrentHashMap.newKeySet();
+
+	SkinResolver(String sessionServer, int maxConcurrent, SkinCache cache) {
+		this.sessionServer = normalizeBase(sessionServer);
+		this.maxConcurrent = Math.max(1, maxConcurrent);
+		this.permits = new Semaphore(this.maxConcurrent);
+		this.cache = cache;
+		executor.execute(this::maintainPeriodically);
+	}
+
+	/**
+	 * True when a resolver built from these settings would behave the same as this one.
+	 */
+	boolean matches(String sessionServer, int maxConcurrent) {
+		return this.sessionServer.equals(normalizeBase(sessionServer)) && this.maxConcurrent == Math.max(1, maxConcurrent);
+	}
+
+	private static String normalizeBase(String sessionServer) {
+		String base = sessionServer == null || sessionServer.isBlank() ? DEFAULT_SESSION_SERVER : sessionServer;
+		return base.endsWith("/") ? base.substring(0, base.length() - 1) : base;
+	}
+
+	/**
+	 * Textures already known for the skin, or null if they would have to be fetched. Schedules a background refresh
+	 * when the entry is due for one.
+	 */
+	SkinTextures cached(UUID skinUuid) {
+		requested.add(skinUuid);
+		SkinCache.Entry entry = cache.get(skinUuid);
+		if (entry == null) {
+			FakeMetrics.SKIN_CACHE_MISSES.increment();
+			return null;
+		}
+		FakeMetrics.SKIN_CACHE_HITS.increment();
+		if (SkinCache.isDueForRefresh(entry, System.currentTimeMillis())) {
+			fetch(skinUuid);
+		}
+		return entry.textures();
+	}
+
+	/**
+	 * Fetch textures in the background. The future completes on a worker thread with the textures, or with null when
+	 * the profile has none, the fetch failed, or a recent attempt did.
+	 */
+	CompletableFuture<SkinTextures> resolve(UUID skinUuid) {
+		SkinTextures cached = cached(skinUuid);
+		if (cached != null) {
+			return CompletableFuture.completedFuture(cached);
+		}
+		Long until = negativeUntil.get(skinUuid);
+		if (until != null) {
+			if (System.currentTimeMillis() < until) {
+				return CompletableFuture.completedFuture(null);
+			}
+			negativeUntil.remove(skinUuid, until);
+		}
+		return fetch(skinUuid);
+	}
+
+	/**
+	 * Start a fetch, or join the one already running for this UUID.
+	 */
+	private CompletableFuture<SkinTextures> fetch(UUID skinUuid) {
+		CompletableFuture<SkinTextures> running = inFlight.get(skinUuid);
+		if (running != null) {
+			return running;
+		}
+		CompletableFuture<SkinTextures> created = new CompletableFuture<>();
+		running = inFlight.putIfAbsent(skinUuid, created);
+		if (running != null) {
+			return running;
+		}
+		try {
+			executor.execute(() -> {
+				try {
+					created.complete(fetchNow(skinUuid));
+				} catch (RuntimeException e) {
+					created.completeExceptionally(e);
+				} finally {
+					inFlight.remove(skinUuid, created);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// Closed while the roster was still asking.
+			inFlight.remove(skinUuid, created);
+			created.complete(null);
+		}
+		return created;
+	}
+
+	/**
+	 * Runs on the executor until {@link #close} interrupts it.
+	 */
+	private void maintainPeriodically() {
+		while (true) {
+			try {
+				Thread.sleep(MAINTENANCE_INTERVAL_MILLIS);
+			} catch (InterruptedException e) {
+				return;
+			}
+			long now = System.currentTimeMillis();
+			for (UUID skinUuid : requested) {
+				long fetchedAt = cache.fetchedAt(skinUuid);
+				if (fetchedAt != Long.MIN_VALUE && SkinCache.isDueForRefresh(fetchedAt, now)) {
+					fetch(skinUuid);
+				}
+			}
+			cache.maintain(now);
+		}
+	}
+
+	void close() {
+		executor.shutdownNow();
+		inFlight.values().forEach(future -> future.complete(null));
+	}
+
+	private SkinTextures fetchNow(UUID skinUuid) {
+		try {
+			permits.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		long started = System.nanoTime();
+		try {
+			SkinTextures downloaded = downloadSkinTextures(skinUuid);
+			FakeMetrics.SKIN_FETCH.record(System.nanoTime() - started);
+			if (downloaded != null) {
+				cache.put(skinUuid, downloaded, System.currentTimeMillis());
+			}
+			return downloaded;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} finally {
+			permits.release();
+		}
+	}
+
+	private SkinTextures downloadSkinTextures(UUID uuid) throws InterruptedException {
+		String plain = uuid.toString().replace("-", "");
+		URI uri = URI.create(sessionServer + "/session/minecraft/profile/" + plain + "?unsigned=false");
+		HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+		for (int attempt = 0; ; attempt++) {
+			limiter.acquire();
+			HttpResponse<String> response;
+			try {
+				response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+			} catch (IOException e) {
+				return fail(uuid, FAILURE_TTL_MILLIS, "request failed: " + e.getMessage());
+			}
+			int status = response.statusCode();
+			if (status == 429) {
+				long delay = backOff(response);
+				if (attempt >= MAX_RATE_LIMIT_RETRIES) {
+					return fail(uuid, FAILURE_TTL_MILLIS, "rate limited");
+				}
+				ExampleMod.LOGGER.debug("[FakePlayers] Session server rate limited skin fetch for {}, pausing {} ms", uuid, delay);
+				continue;
+			}
+			backoffMillis.set(0);
+			if (status == 204 || status == 404) {
+				// Unknown profile.
+				return fail(uuid, MISSING_TTL_MILLIS, null);
+			}
+			if (status != 200) {
+				return fail(uuid, FAILURE_TTL_MILLIS, "HTTP " + status);
+			}
+			SkinTextures textures;
+			try {
+				textures = parseTextures(response.body());
+			} catch (RuntimeException e) {
+				return fail(uuid, FAILURE_TTL_MILLIS, "malformed profile: " + e.getMessage());
+			}
+			return textures != null ? textures : fail(uuid, MISSING_TTL_MILLIS, null);
+		}
+	}
+
+	/**
+	 * Pause the limiter after a 429 and return the pause length.
+	 */
+	private long backOff(HttpResponse<String> response) {
+		long delay = response.headers().firstValue("Retry-After").map(SkinResolver::parseSeconds).orElse(-1L);
+		if (delay <= 0) {
+			delay = backoffMillis.updateAndGet(previous -> previous == 0 ? MIN_BACKOFF_MILLIS : Math.min(MAX_BACKOFF_MILLIS, previous * 2));
+		}
+		limiter.pauseFor(delay);
+		return delay;
+	}
+
+	private static long parseSeconds(String header) {
+		try {
+			return Long.parseLong(header.trim()) * 1000L;
+		} catch (NumberFormatException e) {
+			return -1L;
+		}
+	}
+
+	/**
+	 * Remember a miss so it is not retried for {@code ttlMillis}. Only real failures are logged, not missing skins.
+	 */
+	private SkinTextures fail(UUID uuid, long ttlMillis, String reason) {
+		negativeUntil.put(uuid, System.currentTimeMillis() + ttlMillis);
+		if (reason != null) {
+			ExampleMod.LOGGER.warn("[FakePlayers] Skin fetch for {} failed ({}), using default skin for {} min.", uuid, reason, ttlMillis / 60_000L);
+		}
+		return null;
+	}
+
+	private static SkinTextures parseTextures(String body) {
+		JsonObject obj = JsonParser.parseString(body).getAsJsonObject();
+		JsonArray props = obj.getAsJsonArray("properties");
+		if (props == null) {
+			return null;
+		}
+		for (JsonElement el : props) {
+			JsonObject prop = el.getAsJsonObject();
+			if (!prop.has("name") || !prop.get("name").getAsString().equals("textures")) {
+				continue;
+			}
+			if (!prop.has("value")) {
+				continue;
+			}
+			String value = prop.get("value").getAsString();
+			String sig = prop.has("signature") ? prop.get("signature").getAsString() : null;
+			if (value != null && sig != null) {
+				return new SkinTextures(value, sig);
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,6 @@
+package com.example;
+
+/**
+ * Signed {@code textures} property payload as served by the session server.
+ */
+record SkinTextures(String value, String signature) {}
@@ -0,0 +1,166 @@
+package com.example;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Immutable sorted set of names packed into one UTF-8 byte array plus an offset table.
+ * <p>
+ * At a few hundred thousand entries this is a fraction of the size of a {@code HashSet<String>}: no per-entry object,
+ * no boxed hash table, and the bytes stay contiguous. Lookups are a binary search over unsigned byte order, which also
+ * makes every prefix a contiguous range for suggestions.
+ */
+final class SortedNameSet {
+	static final SortedNameSet EMPTY = new SortedNameSet(new byte[0], new int[1]);
+
+	private final byte[] data;
+	// offsets[i] .. offsets[i + 1] is entry i; length is size + 1.
+	private final int[] offsets;
+
+	private SortedNameSet(byte[] data, int[] offsets) {
+		this.data = data;
+		this.offsets = offsets;
+	}
+
+	static SortedNameSet of(Collection<String> names) {
+		return fromSorted(sortedUnique(names));
+	}
+
+	int size() {
+		return offsets.length - 1;
+	}
+
+	boolean contains(String name) {
+		return contains(name.getBytes(StandardCharsets.UTF_8));
+	}
+
+	boolean contains(byte[] key) {
+		int index = lowerBound(key);
+		return index < size() && compare(index, key) == 0;
+	}
+
+	String get(int index) {
+		return new String(data, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Add up to {@code limit} entries starting with {@code prefix} that {@code accept} takes to {@code out}, in order.
+	 * At most {@code scanLimit} entries are looked at, so a long run of rejected ones cannot make this linear.
+	 */
+	void collectPrefix(String prefix, int limit, int scanLimit, Predicate<String> accept, Collection<String> out) {
+		byte[] key = prefix.getBytes(StandardCharsets.UTF_8);
+		int added = 0;
+		for (int index = lowerBound(key), end = (int) Math.min(size(), (long) index + scanLimit); index < end && added < limit && startsWith(index, key); index++) {
+			String entry = get(index);
+			if (accept.test(entry)) {
+				out.add(entry);
+				added++;
+			}
+		}
+	}
+
+	void forEach(Consumer<String> action) {
+		for (int index = 0; index < size(); index++) {
+			action.accept(get(index));
+		}
+	}
+
+	/**
+	 * Feed every entry's bytes to a bloom filter.
+	 */
+	void addTo(BloomFilter filter) {
+		for (int index = 0; index < size(); index++) {
+			filter.add(data, offsets[index], offsets[index + 1] - offsets[index]);
+		}
+	}
+
+	/**
+	 * This set plus {@code added} minus {@code removed}, built by a linear merge. The two collections must not share a
+	 * name; callers resolve which operation came last before merging.
+	 */
+	SortedNameSet merge(Collection<String> added, Collection<String> removed) {
+		byte[][] adds = sortedUnique(added);
+		byte[][] drops = sortedUnique(removed);
+		List<byte[]> merged = new ArrayList<>(size() + adds.length);
+		int a = 0;
+		int d = 0;
+		for (int index = 0; index < size(); index++) {
+			while (a < adds.length && compare(index, adds[a]) > 0) {
+				merged.add(adds[a++]);
+			}
+			if (a < adds.length && compare(index, adds[a]) == 0) {
+				a++;
+			}
+			while (d < drops.length && compare(index, drops[d]) > 0) {
+				d++;
+			}
+			if (d < drops.length && compare(index, drops[d]) == 0) {
+				continue;
+			}
+			merged.add(Arrays.copyOfRange(data, offsets[index], offsets[index + 1]));
+		}
+		while (a < adds.length) {
+			merged.add(adds[a++]);
+		}
+		return fromSorted(merged.toArray(new byte[0][]));
+	}
+
+	private int lowerBound(byte[] key) {
+		int low = 0;
+		int high = size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (compare(mid, key) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private int compare(int index, byte[] key) {
+		return Arrays.compareUnsigned(data, offsets[index], offsets[index + 1], key, 0, key.length);
+	}
+
+	private boolean startsWith(int index, byte[] prefix) {
+		int start = offsets[index];
+		return offsets[index + 1] - start >= prefix.length && Arrays.equals(data, start, start + prefix.length, prefix, 0, prefix.length);
+	}
+
+	private static byte[][] sortedUnique(Collection<String> names) {
+		byte[][] encoded = new byte[names.size()][];
+		int count = 0;
+		for (String name : names) {
+			encoded[count++] = name.getBytes(StandardCharsets.UTF_8);
+		}
+		Arrays.sort(encoded, Arrays::compareUnsigned);
+		int unique = 0;
+		for (int i = 0; i < count; i++) {
+			if (unique == 0 || !Arrays.equals(encoded[unique - 1], encoded[i])) {
+				encoded[unique++] = encoded[i];
+			}
+		}
+		return unique == count ? encoded : Arrays.copyOf(encoded, unique);
+	}
+
+	private static SortedNameSet fromSorted(byte[][] entries) {
+		if (entries.length == 0) {
+			return EMPTY;
+		}
+		int[] offsets = new int[entries.length + 1];
+		for (int i = 0; i < entries.length; i++) {
+			offsets[i + 1] = offsets[i] + entries[i].length;
+		}
+		byte[] data = new byte[offsets[entries.length]];
+		for (int i = 0; i < entries.length; i++) {
+			System.arraycopy(entries[i], 0, data, offsets[i], entries[i].length);
+		}
+		return new SortedNameSet(data, offsets);
+	}
+}
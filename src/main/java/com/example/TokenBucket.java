@@ -0,0 +1,74 @@
+package com.example;
+
+/**
+ * Thread-safe token bucket: {@code capacity} tokens of burst, refilled at a steady per-minute rate.
+ * <p>
+ * Blocking callers reserve a token up front and sleep off the debt, so waiters are served in arrival order without a
+ * queue. The bucket can also be paused outright, e.g. while a remote service asks us to back off.
+ */
+final class TokenBucket {
+	private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+	private final double capacity;
+	private final double tokensPerNano;
+	private double tokens;
+	private long refilledAt;
+	private long pausedUntil;
+
+	TokenBucket(int capacity, int perMinute) {
+		this.capacity = Math.max(1, capacity);
+		this.tokensPerNano = Math.max(1, perMinute) / (double) NANOS_PER_MINUTE;
+		this.tokens = this.capacity;
+		this.refilledAt = System.nanoTime();
+		this.pausedUntil = refilledAt;
+	}
+
+	/**
+	 * Take a token if one is available right now.
+	 */
+	synchronized boolean tryAcquire() {
+		long now = System.nanoTime();
+		refill(now);
+		if (now - pausedUntil < 0 || tokens < 1) {
+			return false;
+		}
+		tokens -= 1;
+		return true;
+	}
+
+	/**
+	 * Take a token, sleeping until it is available.
+	 */
+	void acquire() throws InterruptedException {
+		long waitNanos = reserve();
+		if (waitNanos > 0) {
+			Thread.sleep(waitNanos / 1_000_000L, (int) (waitNanos % 1_000_000L));
+		}
+	}
+
+	/**
+	 * Hand out no tokens for the next {@code millis}, on top of any pause already in effect.
+	 */
+	synchronized void pauseFor(long millis) {
+		long until = System.nanoTime() + millis * 1_000_000L;
+		if (until - pausedUntil > 0) {
+			pausedUntil = until;
+		}
+	}
+
+	private synchronized long reserve() {
+		long now = System.nanoTime();
+		refill(now);
+		tokens -= 1;
+		long debtNanos = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+		return Math.max(debtNanos, pausedUntil - now);
+	}
+
+	private void refill(long now) {
+		long elapsed = now - refilledAt;
+		if (elapsed > 0) {
+			tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+			refilledAt = now;
+		}
+	}
+}
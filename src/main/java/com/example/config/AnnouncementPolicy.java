@@ -0,0 +1,20 @@
+package com.example.config;
+
+/**
+ * How fake join/leave messages are announced when many bots change state at once.
+ */
+public enum AnnouncementPolicy {
+	/**
+	 * Every transition gets its own message in the tick it happened.
+	 */
+	ALL,
+	/**
+	 * At most {@code maxAnnouncementsPerTick} messages per tick; the rest follow in later ticks, in order.
+	 */
+	SPREAD,
+	/**
+	 * Up to {@code maxAnnouncementsPerTick} joins (and leaves) per tick are announced individually; beyond that the
+	 * tick's joins or leaves collapse into a single "N players joined/left the game" line.
+	 */
+	SUMMARY
+}
@@ -4,11 +4,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Root configuration for the fake player system. Controls global behavior and the list of bots.
+ * Root configuration for the fake player system. Controls global behavior, the list of hand-written bots and any
+ * procedural generators.
  */
 public class FakePlayerConfig {
 	public GlobalConfig global = new GlobalConfig();
 	public List<BotConfig> bots = new ArrayList<>();
+	public List<GeneratorConfig> generators = new ArrayList<>();
 
 	/**
 	 * Build a default configuration with two sample bots.
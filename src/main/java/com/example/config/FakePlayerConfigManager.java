@@ -1,6 +1,7 @@
 package com.example.config;
 
 import com.example.ExampleMod;
+import com.example.RosterLoader;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import net.fabricmc.loader.api.FabricLoader;
@@ -24,50 +25,122 @@ public final class FakePlayerConfigManager {
 	private static final Path CONFIG_PATH = FabricLoader.getInstance()
 		.getConfigDir()
 		.resolve(ExampleMod.MOD_ID + "-fakeplayers.json");
+	private static final Path SNAPSHOT_PATH = CONFIG_PATH.resolveSibling(ExampleMod.MOD_ID + "-fakeplayers.snapshot");
 
+	private static RosterLoader.Roster ROSTER;
+	private static FakePlayerConfigWatcher WATCHER;
+	// Tree form for the deprecated getConfig(), parsed on first use for the roster it was read alongside.
+	private static RosterLoader.Roster CONFIG_SOURCE;
 	private static FakePlayerConfig CONFIG;
 
 	private FakePlayerConfigManager() {}
 
-	public static FakePlayerConfig getConfig() {
+	public static RosterLoader.Roster getRoster() {
+		return ROSTER;
+	}
+
+	/**
+	 * The config file as a normalized object tree, re-read from disk the first time it is asked for after each load.
+	 *
+	 * @deprecated the scheduler no longer keeps this tree; use {@link #getRoster()}, which is what is actually running.
+	 * This may differ from it if the file changed since the last load, and is null when the file cannot be read.
+	 */
+	@Deprecated
+	public static synchronized FakePlayerConfig getConfig() {
+		RosterLoader.Roster roster = ROSTER;
+		if (roster == null) {
+			return null;
+		}
+		if (CONFIG_SOURCE != roster) {
+			CONFIG_SOURCE = roster;
+			try (Reader reader = Files.newBufferedReader(CONFIG_PATH, StandardCharsets.UTF_8)) {
+				CONFIG = GSON.fromJson(reader, FakePlayerConfig.class);
+				normalize(CONFIG);
+			} catch (IOException | RuntimeException e) {
+				ExampleMod.LOGGER.warn("[FakePlayers] Failed to read config tree from {}", CONFIG_PATH, e);
+				CONFIG = null;
+			}
+		}
 		return CONFIG;
 	}
 
+	/**
+	 * Load the config, writing the defaults first only when there is no file at all. A file that exists but cannot be
+	 * read is left alone for its owner to fix; meanwhile the current roster, or an empty one, stays in place.
+	 */
 	public static void loadOrCreate(MinecraftServer server) {
-		FakePlayerConfig loaded = readConfig();
-		if (loaded == null) {
-			loaded = FakePlayerConfig.createDefault();
-			normalize(loaded);
-			save(loaded);
-		} else {
-			normalize(loaded);
+		boolean existed = Files.exists(CONFIG_PATH);
+		RosterLoader.Roster loaded = readRoster();
+		if (loaded == null && existed) {
+			ExampleMod.LOGGER.error("[FakePlayers] Leaving unreadable config {} untouched; fix it and run /fakeplayers reload.", CONFIG_PATH);
+			loaded = ROSTER;
+		} else if (loaded == null) {
+			FakePlayerConfig defaults = FakePlayerConfig.createDefault();
+			normalize(defaults);
+			save(defaults);
+			loaded = readRoster();
 		}
-		CONFIG = loaded;
-		if (server != null) {
-			ExampleMod.getScheduler().applyConfig(server, CONFIG);
+		if (loaded == null) {
+			loaded = RosterLoader.empty();
 		}
+		apply(server, loaded);
 	}
 
 	public static boolean reload(MinecraftServer server) {
-		FakePlayerConfig loaded = readConfig();
+		RosterLoader.Roster loaded = readRoster();
 		if (loaded == null) {
 			ExampleMod.LOGGER.warn("[FakePlayers] Reload failed: could not read config, keeping existing configuration.");
 			return false;
 		}
-		normalize(loaded);
-		CONFIG = loaded;
-		if (server != null) {
-			ExampleMod.getScheduler().applyConfig(server, CONFIG);
-		}
+		apply(server, loaded);
 		return true;
 	}
 
-	private static FakePlayerConfig readConfig() {
+	/**
+	 * Install a loaded roster and start or stop the file watcher to match it. Server thread only.
+	 */
+	static void apply(MinecraftServer server, RosterLoader.Roster roster) {
+		ROSTER = roster;
+		if (server == null) {
+			return;
+		}
+		ExampleMod.getScheduler().applyRoster(server, roster);
+		boolean watch = roster.global().watchConfigFile;
+		if (watch && WATCHER == null) {
+			WATCHER = FakePlayerConfigWatcher.start(server, CONFIG_PATH);
+		} else if (!watch) {
+			stopWatching();
+		}
+	}
+
+	public static void stopWatching() {
+		if (WATCHER != null) {
+			WATCHER.stop();
+			WATCHER = null;
+		}
+	}
+
+	/**
+	 * Load raw config bytes; null when they are not a valid config document. Safe off the server thread.
+	 */
+	static RosterLoader.Roster parse(byte[] content) {
+		try {
+			RosterLoader.Roster roster = RosterLoader.load(content, SNAPSHOT_PATH);
+			roster.logErrors(CONFIG_PATH.getFileName());
+			return roster;
+		} catch (IOException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	private static RosterLoader.Roster readRoster() {
 		if (!Files.exists(CONFIG_PATH)) {
 			return null;
 		}
-		try (Reader reader = Files.newBufferedReader(CONFIG_PATH, StandardCharsets.UTF_8)) {
-			return GSON.fromJson(reader, FakePlayerConfig.class);
+		try {
+			RosterLoader.Roster roster = RosterLoader.load(CONFIG_PATH, SNAPSHOT_PATH);
+			roster.logErrors(CONFIG_PATH.getFileName());
+			return roster;
 		} catch (Exception e) {
 			ExampleMod.LOGGER.error("[FakePlayers] Failed to read config from {}", CONFIG_PATH, e);
 			return null;
@@ -126,6 +199,9 @@ public final class FakePlayerConfigManager {
 			}
 			bot.normalize();
 		}
+		if (config.generators == null) {
+			config.generators = new ArrayList<>();
+		}
 	}
 
 	private static void save(FakePlayerConfig config) {
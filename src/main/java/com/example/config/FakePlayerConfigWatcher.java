@@ -0,0 +1,135 @@
+package com.example.config;
+
+import com.example.ExampleMod;
+import com.example.RosterLoader;
+import net.minecraft.server.MinecraftServer;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the config file and reloads it when it changes on disk.
+ * <p>
+ * Editors often save in bursts (truncate, write, rename, touch), so events are debounced until the file has been quiet
+ * for {@link #DEBOUNCE_MILLIS}. Reading, parsing and compiling happen on the watcher thread; the server thread only
+ * receives the finished roster to apply. Saves that leave the bytes unchanged are ignored.
+ */
+final class FakePlayerConfigWatcher {
+	private static final long DEBOUNCE_MILLIS = 500L;
+
+	private final MinecraftServer server;
+	private final Path file;
+	private final WatchService watchService;
+	private final Thread thread;
+	private byte[] lastContent;
+
+	private FakePlayerConfigWatcher(MinecraftServer server, Path file, WatchService watchService) {
+		this.server = server;
+		this.file = file;
+		this.watchService = watchService;
+		this.thread = new Thread(this::run, ExampleMod.MOD_ID + "-config-watcher");
+		this.thread.setDaemon(true);
+	}
+
+	/**
+	 * Start watching {@code file}, or return null (after logging) if the platform cannot watch its directory.
+	 */
+	static FakePlayerConfigWatcher start(MinecraftServer server, Path file) {
+		try {
+			WatchService watchService = FileSystems.getDefault().newWatchService();
+			file.getParent().register(
+				watchService,
+				StandardWatchEventKinds.ENTRY_CREATE,
+				StandardWatchEventKinds.ENTRY_MODIFY
+			);
+			FakePlayerConfigWatcher watcher = new FakePlayerConfigWatcher(server, file, watchService);
+			watcher.lastContent = readBytes(file);
+			watcher.thread.start();
+			return watcher;
+		} catch (IOException e) {
+			ExampleMod.LOGGER.warn("[FakePlayers] Could not watch {} for changes; use /fakeplayers reload instead.", file, e);
+			return null;
+		}
+	}
+
+	void stop() {
+		try {
+			watchService.close();
+		} catch (IOException ignored) {
+			// Closing only wakes the watcher thread; nothing to recover.
+		}
+		thread.interrupt();
+	}
+
+	private void run() {
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+				boolean touched = drain(key);
+				// Keep absorbing events until the burst is over.
+				while (touched) {
+					WatchKey next = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+					if (next == null) {
+						break;
+					}
+					drain(next);
+				}
+				if (touched) {
+					reloadIfChanged();
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// Stopped.
+		}
+	}
+
+	/**
+	 * Consume a key's events and re-arm it; true if any of them concerned our file.
+	 */
+	private boolean drain(WatchKey key) {
+		boolean touched = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+				touched = true;
+			}
+		}
+		key.reset();
+		return touched;
+	}
+
+	private void reloadIfChanged() {
+		byte[] content = readBytes(file);
+		if (content == null || Arrays.equals(content, lastContent)) {
+			return;
+		}
+		RosterLoader.Roster parsed = FakePlayerConfigManager.parse(content);
+		if (parsed == null) {
+			// Probably caught mid-edit; keep the running config and wait for the next save.
+			ExampleMod.LOGGER.warn("[FakePlayers] Ignoring change to {}: file did not parse.", file);
+			return;
+		}
+		lastContent = content;
+		server.execute(() -> {
+			FakePlayerConfigManager.apply(server, parsed);
+			ExampleMod.LOGGER.info("[FakePlayers] Reloaded config after {} changed.", file.getFileName());
+		});
+	}
+
+	private static byte[] readBytes(Path file) {
+		try {
+			return Files.exists(file) ? Files.readAllBytes(file) : null;
+		} catch (IOException e) {
+			ExampleMod.LOGGER.warn("[FakePlayers] Failed to read {}", file, e);
+			return null;
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package com.example.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Procedurally generated population: {@code count} bots expanded deterministically from {@code seed} at load time.
+ * <p>
+ * Names come from {@code nameTemplate}, where {@code {name}} is a pick from {@code namePool}, {@code {digits}} a number
+ * (two digits, more for large populations) and {@code {index}} the bot's position in the population; picks are made so
+ * that no two generated bots share a name. Bots are grouped into cohorts of
+ * {@code cohortSize} that share one window drawn from {@code windows}; skins are picked from {@code skinPool}.
+ */
+public class GeneratorConfig {
+	public String id = "generated";
+	public boolean enabled = true;
+	public long seed = 0L;
+	public int count = 0;
+	public int cohortSize = 32;
+	public String nameTemplate = "{name}{digits}";
+	public List<String> namePool = new ArrayList<>();
+	public List<WindowDistributionConfig> windows = new ArrayList<>();
+	public List<String> skinPool = new ArrayList<>();
+}
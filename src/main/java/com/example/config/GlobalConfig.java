@@ -11,4 +11,10 @@ public class GlobalConfig {
 	public int maxIntervalMinutes = 60;
 	public int minDeathMinutes = 45;
 	public int maxDeathMinutes = 180;
+	public String sessionServerUrl = "https://sessionserver.mojang.com";
+	public int maxConcurrentSkinFetches = 4;
+	public boolean watchConfigFile = false;
+	public int maxChatLinesPerMinute = 20;
+	public AnnouncementPolicy announcementPolicy = AnnouncementPolicy.SUMMARY;
+	public int maxAnnouncementsPerTick = 5;
 }
@@ -0,0 +1,21 @@
+package com.example.config;
+
+/**
+ * Weighted base window for generated bots; each cohort shifts start and end independently by up to
+ * {@code jitterMinutes} either way.
+ */
+public class WindowDistributionConfig {
+	public String startTime;
+	public String endTime;
+	public int jitterMinutes = 0;
+	public int weight = 1;
+
+	public static WindowDistributionConfig of(String startTime, String endTime, int jitterMinutes, int weight) {
+		WindowDistributionConfig config = new WindowDistributionConfig();
+		config.startTime = startTime;
+		config.endTime = endTime;
+		config.jitterMinutes = jitterMinutes;
+		config.weight = weight;
+		return config;
+	}
+}
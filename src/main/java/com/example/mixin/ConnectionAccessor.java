@@ -0,0 +1,24 @@
+package com.example.mixin;
+
+import io.netty.channel.Channel;
+import net.minecraft.network.Connection;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+import java.util.Queue;
+import java.util.function.Consumer;
+
+@Mixin(Connection.class)
+public interface ConnectionAccessor {
+	@Accessor("channel")
+	Channel getChannel();
+
+	@Accessor("pendingActions")
+	Queue<Consumer<Connection>> getPendingActions();
+
+	@Accessor("sentPackets")
+	int getSentPackets();
+
+	@Accessor("sentPackets")
+	void setSentPackets(int sentPackets);
+}
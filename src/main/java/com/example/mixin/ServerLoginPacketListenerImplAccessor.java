@@ -0,0 +1,16 @@
+package com.example.mixin;
+
+import com.mojang.authlib.GameProfile;
+import net.minecraft.network.Connection;
+import net.minecraft.server.network.ServerLoginPacketListenerImpl;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(ServerLoginPacketListenerImpl.class)
+public interface ServerLoginPacketListenerImplAccessor {
+	@Accessor("connection")
+	Connection getConnection();
+
+	@Accessor("authenticatedProfile")
+	GameProfile getAuthenticatedProfile();
+}
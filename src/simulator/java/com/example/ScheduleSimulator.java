@@ -0,0 +1,251 @@
+package com.example;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Runs a fake player config through the real scheduler on a simulated clock, with no Minecraft server.
+ * <p>
+ * The clock jumps straight to the next deadline, so a week of a large roster takes seconds. At most one step runs
+ * per 50 ms of simulated time, as on a real server, so a zero-length break advances tick by tick instead of spinning.
+ * Writes every transition to {@code timeline.csv} and the online count at a fixed interval to {@code online.csv},
+ * then prints a summary including how much CPU the scheduler itself used.
+ * <p>
+ * Usage: {@code ScheduleSimulator <config.json> [--days N] [--start 2026-01-05T00:00] [--seed N]
+ * [--sample-minutes N] [--out DIR]}; the start time is local to the schedule zone.
+ */
+public final class ScheduleSimulator {
+	private static final long TICK_MILLIS = 50L;
+	private static final long MILLIS_PER_MINUTE = 60_000L;
+	private static final long MILLIS_PER_DAY = 24 * 60 * MILLIS_PER_MINUTE;
+
+	private ScheduleSimulator() {}
+
+	public static void main(String[] args) throws IOException {
+		Options options;
+		try {
+			options = Options.parse(args);
+		} catch (IllegalArgumentException | DateTimeParseException e) {
+			System.err.println(e.getMessage());
+			System.err.println("Usage: ScheduleSimulator <config.json> [--days N] [--start 2026-01-05T00:00] [--seed N] [--sample-minutes N] [--out DIR]");
+			System.exit(2);
+			return;
+		}
+
+		SharedConstants.tryDetectVersion();
+		Bootstrap.bootStrap();
+
+		RosterLoader.Roster roster;
+		try (Reader in = Files.newBufferedReader(options.config(), StandardCharsets.UTF_8)) {
+			roster = RosterLoader.read(in);
+		}
+		roster.logErrors(options.config());
+		Files.createDirectories(options.out());
+		Summary summary = run(roster, options);
+		summary.print(options, roster);
+	}
+
+	private static Summary run(RosterLoader.Roster roster, Options options) throws IOException {
+		ZoneId zone = FakePlayerScheduler.EASTERN;
+		long start = options.start().atZone(zone).toInstant().toEpochMilli();
+		long end = start + options.days() * MILLIS_PER_DAY;
+		long sampleMillis = options.sampleMinutes() * MILLIS_PER_MINUTE;
+		SimulatedClock clock = new SimulatedClock(zone, start);
+		FakePlayerScheduler scheduler = new FakePlayerScheduler(clock, new Random(options.seed()));
+		Summary summary = new Summary();
+
+		try (BufferedWriter timeline = Files.newBufferedWriter(options.out().resolve("timeline.csv"), StandardCharsets.UTF_8);
+			 BufferedWriter curve = Files.newBufferedWriter(options.out().resolve("online.csv"), StandardCharsets.UTF_8)) {
+			timeline.write("time,name,uuid,transition");
+			timeline.newLine();
+			curve.write("time,online");
+			curve.newLine();
+			scheduler.setObserver((at, bot, transition) -> {
+				summary.count(transition);
+				try {
+					timeline.write(clock.local(at) + "," + bot.name() + "," + bot.id() + "," + transition.name().toLowerCase(Locale.ROOT));
+					timeline.newLine();
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			});
+
+			long wallStart = System.nanoTime();
+			long cpu = System.nanoTime();
+			scheduler.applyRoster(null, roster);
+			scheduler.step();
+			summary.schedulerNanos += System.nanoTime() - cpu;
+
+			long now = start;
+			long nextSample = start;
+			while (true) {
+				long next = Math.max(Math.min(scheduler.nextDeadline(), nextSample), now + TICK_MILLIS);
+				if (next > end) {
+					break;
+				}
+				now = next;
+				clock.set(now);
+				cpu = System.nanoTime();
+				scheduler.step();
+				summary.schedulerNanos += System.nanoTime() - cpu;
+				summary.steps++;
+				if (now >= nextSample) {
+					int online = scheduler.onlineCount();
+					summary.sample(now, online);
+					curve.write(clock.local(now) + "," + online);
+					curve.newLine();
+					nextSample += sampleMillis;
+				}
+			}
+			summary.wallNanos = System.nanoTime() - wallStart;
+			summary.simulatedMillis = end - start;
+			summary.zone = zone;
+		} finally {
+			scheduler.shutdown();
+		}
+		return summary;
+	}
+
+	private record Options(Path config, int days, LocalDateTime start, long seed, int sampleMinutes, Path out) {
+		static Options parse(String[] args) {
+			if (args.length == 0) {
+				throw new IllegalArgumentException("Missing config file.");
+			}
+			Path config = Path.of(args[0]);
+			int days = 1;
+			LocalDateTime start = LocalDateTime.now().toLocalDate().atStartOfDay();
+			long seed = 1L;
+			int sampleMinutes = 5;
+			Path out = Path.of("simulation");
+			for (int i = 1; i < args.length; i += 2) {
+				if (i + 1 >= args.length) {
+					throw new IllegalArgumentException("Missing value for " + args[i]);
+				}
+				String value = args[i + 1];
+				switch (args[i]) {
+					case "--days" -> days = positive(args[i], value);
+					case "--start" -> start = LocalDateTime.parse(value);
+					case "--seed" -> seed = Long.parseLong(value);
+					case "--sample-minutes" -> sampleMinutes = positive(args[i], value);
+					case "--out" -> out = Path.of(value);
+					default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+				}
+			}
+			return new Options(config, days, start, seed, sampleMinutes, out);
+		}
+
+		private static int positive(String option, String value) {
+			int parsed;
+			try {
+				parsed = Integer.parseInt(value);
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException(option + " expects a number, got " + value);
+			}
+			if (parsed <= 0) {
+				throw new IllegalArgumentException(option + " must be positive");
+			}
+			return parsed;
+		}
+	}
+
+	private static final class Summary {
+		private final Map<ScheduleObserver.Transition, Long> transitions = new EnumMap<>(ScheduleObserver.Transition.class);
+		private long steps;
+		private long schedulerNanos;
+		private long wallNanos;
+		private long simulatedMillis;
+		private ZoneId zone;
+		private int peakOnline = -1;
+		private long peakAt;
+		private int minOnline = Integer.MAX_VALUE;
+		private long onlineTotal;
+		private long samples;
+
+		void count(ScheduleObserver.Transition transition) {
+			transitions.merge(transition, 1L, Long::sum);
+		}
+
+		void sample(long at, int online) {
+			if (online > peakOnline) {
+				peakOnline = online;
+				peakAt = at;
+			}
+			minOnline = Math.min(minOnline, online);
+			onlineTotal += online;
+			samples++;
+		}
+
+		void print(Options options, RosterLoader.Roster roster) {
+			System.out.printf(Locale.ROOT, "Simulated %d day(s) of %d configured and %d generated bots from %s (seed %d).%n",
+				options.days(), roster.size(), roster.generatedSize(), options.start(), options.seed());
+			for (ScheduleObserver.Transition transition : ScheduleObserver.Transition.values()) {
+				System.out.printf(Locale.ROOT, "  %-12s %d%n", transition.name().toLowerCase(Locale.ROOT), transitions.getOrDefault(transition, 0L));
+			}
+			if (samples > 0) {
+				System.out.printf(Locale.ROOT, "Online: min %d, mean %.1f, peak %d at %s%n",
+					minOnline, onlineTotal / (double) samples, peakOnline, LocalDateTime.ofInstant(Instant.ofEpochMilli(peakAt), zone));
+			}
+			double wallSeconds = wallNanos / 1e9;
+			System.out.printf(Locale.ROOT, "%d scheduler steps, %.1f ms of scheduler time; %.2f s wall clock, %.0fx real time.%n",
+				steps, schedulerNanos / 1e6, wallSeconds, simulatedMillis / 1000.0 / Math.max(wallSeconds, 1e-9));
+			System.out.println("Wrote " + options.out().resolve("timeline.csv") + " and " + options.out().resolve("online.csv"));
+		}
+	}
+
+	/**
+	 * Clock that only moves when told to.
+	 */
+	private static final class SimulatedClock extends Clock {
+		private final ZoneId zone;
+		private long millis;
+
+		SimulatedClock(ZoneId zone, long millis) {
+			this.zone = zone;
+			this.millis = millis;
+		}
+
+		void set(long millis) {
+			this.millis = millis;
+		}
+
+		LocalDateTime local(long epochMillis) {
+			return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return zone;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return new SimulatedClock(zone, millis);
+		}
+
+		@Override
+		public long millis() {
+			return millis;
+		}
+
+		@Override
+		public Instant instant() {
+			return Instant.ofEpochMilli(millis);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActiveWindowIndexTest {
+	private static final int DAY = ActiveWindowIndex.MINUTES_PER_DAY;
+
+	@Test
+	void plainWindowIsEndExclusive() {
+		ActiveWindowIndex index = windows(9 * 60, 17 * 60);
+
+		assertFalse(index.isActive(9 * 60 - 1));
+		assertTrue(index.isActive(9 * 60));
+		assertTrue(index.isActive(17 * 60 - 1));
+		assertFalse(index.isActive(17 * 60));
+		assertEquals(17 * 60, index.windowEnd(12 * 60));
+		assertEquals(-1, index.windowEnd(18 * 60));
+		assertEquals(0, index.minutesUntilOpen(10 * 60));
+		assertEquals(60, index.minutesUntilOpen(8 * 60));
+		// Past today's window, the next one is tomorrow's.
+		assertEquals(DAY - 17 * 60 + 9 * 60, index.minutesUntilOpen(17 * 60));
+	}
+
+	@Test
+	void overnightWindowWrapsPastMidnight() {
+		ActiveWindowIndex index = windows(22 * 60, 2 * 60);
+
+		assertTrue(index.isActive(23 * 60));
+		assertTrue(index.isActive(0));
+		assertTrue(index.isActive(2 * 60 - 1));
+		assertFalse(index.isActive(2 * 60));
+		assertFalse(index.isActive(22 * 60 - 1));
+		// Before midnight the end is measured from today's midnight, so it runs into tomorrow.
+		assertEquals(DAY + 2 * 60, index.windowEnd(23 * 60));
+		assertEquals(2 * 60, index.windowEnd(30));
+		assertEquals(20 * 60, index.minutesUntilOpen(2 * 60));
+	}
+
+	@Test
+	void startEqualToEndCoversTheWholeDay() {
+		ActiveWindowIndex index = windows(8 * 60, 8 * 60);
+
+		for (int minute = 0; minute < DAY; minute++) {
+			assertTrue(index.isActive(minute), "minute " + minute);
+		}
+		// No end at all, so a bot on this window is never sent offline at midnight.
+		assertEquals(ActiveWindowIndex.NO_END, index.windowEnd(8 * 60));
+		assertEquals(ActiveWindowIndex.NO_END, index.windowEnd(0));
+		assertEquals(ActiveWindowIndex.NO_END, index.windowEnd(DAY - 1));
+		assertEquals(0, index.minutesUntilOpen(0));
+	}
+
+	@Test
+	void windowsThatTogetherCoverTheDayHaveNoEnd() {
+		ActiveWindowIndex halves = ActiveWindowIndex.compile(new int[]{0, 12 * 60}, new int[]{12 * 60, 0}, 2);
+		ActiveWindowIndex midnight = windows(0, 0);
+
+		assertEquals(ActiveWindowIndex.NO_END, halves.windowEnd(11 * 60));
+		assertEquals(ActiveWindowIndex.NO_END, midnight.windowEnd(23 * 60));
+	}
+
+	@Test
+	void windowMissingOneMinuteStillEnds() {
+		ActiveWindowIndex index = windows(8 * 60, 8 * 60 - 1);
+
+		assertEquals(DAY + 8 * 60 - 1, index.windowEnd(23 * 60));
+		assertEquals(8 * 60 - 1, index.windowEnd(60));
+		assertFalse(index.isActive(8 * 60 - 1));
+	}
+
+	@Test
+	void overlappingWindowsMergeAndEmptyIndexNeverOpens() {
+		ActiveWindowIndex merged = ActiveWindowIndex.compile(new int[]{60, 90}, new int[]{120, 180}, 2);
+
+		assertEquals(windows(60, 180), merged);
+		assertEquals(180, merged.windowEnd(100));
+
+		ActiveWindowIndex empty = ActiveWindowIndex.compile(new int[0], new int[0], 0);
+		assertTrue(empty.isEmpty());
+		assertEquals(-1, empty.minutesUntilOpen(0));
+		assertEquals(-1, empty.windowEnd(0));
+	}
+
+	@Test
+	void bitmapRoundTrips() {
+		ActiveWindowIndex index = ActiveWindowIndex.compile(new int[]{22 * 60, 12 * 60}, new int[]{2 * 60, 13 * 60}, 2);
+		long[] words = new long[ActiveWindowIndex.BITMAP_WORDS];
+		for (int word = 0; word < words.length; word++) {
+			words[word] = index.bitmapWord(word);
+		}
+		ActiveWindowIndex copy = ActiveWindowIndex.fromBitmap(words);
+
+		assertEquals(index, copy);
+		assertEquals(DAY + 2 * 60, copy.windowEnd(23 * 60));
+		assertEquals(12 * 60 - 3 * 60, copy.minutesUntilOpen(3 * 60));
+	}
+
+	private static ActiveWindowIndex windows(int start, int end) {
+		return ActiveWindowIndex.compile(new int[]{start}, new int[]{end}, 1);
+	}
+}
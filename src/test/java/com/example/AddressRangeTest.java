@@ -0,0 +1,65 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AddressRangeTest {
+	@Test
+	void clearsHostBitsAndCanonicalizesTheKey() {
+		assertEquals("203.0.113.0/24", key("203.0.113.77/24"));
+		assertEquals("10.0.0.0/8", key("10.1.2.3/8"));
+		assertEquals("2001:db8::/32", key("2001:0DB8:1234::1/32"));
+		assertEquals("0.0.0.0/0", key("192.0.2.1/0"));
+	}
+
+	@Test
+	void bareAddressIsASingleHost() {
+		AddressTrie.Range v4 = AddressTrie.Range.parse("192.0.2.1");
+		AddressTrie.Range v6 = AddressTrie.Range.parse("2001:db8::1");
+
+		assertNotNull(v4);
+		assertEquals("192.0.2.1/32", v4.key());
+		assertEquals(128, v4.bits());
+		assertNotNull(v6);
+		assertEquals("2001:db8::1/128", v6.key());
+		assertEquals(128, v6.bits());
+	}
+
+	@Test
+	void ipv4IsWidenedIntoTheMappedRange() {
+		AddressTrie.Range range = AddressTrie.Range.parse("198.51.100.0/24");
+
+		assertNotNull(range);
+		assertEquals(16, range.address().length);
+		assertEquals((byte) 0xff, range.address()[10]);
+		assertEquals((byte) 0xff, range.address()[11]);
+		assertEquals((byte) 198, range.address()[12]);
+		assertEquals(96 + 24, range.bits());
+	}
+
+	@Test
+	void mappedIpv6LiteralParsesAsIpv4() {
+		assertEquals("192.0.2.0/24", key("::ffff:192.0.2.9/24"));
+	}
+
+	@Test
+	void rejectsAnythingThatIsNotALiteral() {
+		assertNull(AddressTrie.Range.parse("example.com"));
+		assertNull(AddressTrie.Range.parse("Notch"));
+		assertNull(AddressTrie.Range.parse("192.0.2.1/33"));
+		assertNull(AddressTrie.Range.parse("2001:db8::/129"));
+		assertNull(AddressTrie.Range.parse("192.0.2.1/-1"));
+		assertNull(AddressTrie.Range.parse("192.0.2.1/abc"));
+		assertNull(AddressTrie.Range.parse("192.0.2.1/"));
+		assertNull(AddressTrie.Range.parse(""));
+	}
+
+	private static String key(String raw) {
+		AddressTrie.Range range = AddressTrie.Range.parse(raw);
+		assertNotNull(range, raw);
+		return range.key();
+	}
+}
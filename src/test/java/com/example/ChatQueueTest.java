@@ -0,0 +1,95 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatQueueTest {
+	@Test
+	void linesDueTogetherKeepQueueOrder() {
+		ChatQueue queue = new ChatQueue();
+		queue.push(200L, 1, "later");
+		for (int i = 0; i < 40; i++) {
+			queue.push(100L, i, "line " + i);
+		}
+
+		for (int i = 0; i < 40; i++) {
+			assertEquals(100L, queue.peekTime());
+			assertEquals(i, queue.peekSpeaker());
+			assertEquals("line " + i, queue.peekMessage());
+			queue.poll();
+		}
+		assertEquals("later", queue.peekMessage());
+		queue.poll();
+		assertTrue(queue.isEmpty());
+		assertEquals(Long.MAX_VALUE, queue.peekTime());
+	}
+
+	@Test
+	void removeSpeakersDropsOnlyTheirLines() {
+		ChatQueue queue = new ChatQueue();
+		for (int i = 0; i < 30; i++) {
+			queue.push(1000L - i, i % 3, "line " + i);
+		}
+		BitSet gone = new BitSet();
+		gone.set(1);
+
+		queue.removeSpeakers(gone);
+
+		assertEquals(20, queue.size());
+		long last = Long.MIN_VALUE;
+		while (!queue.isEmpty()) {
+			assertTrue(queue.peekSpeaker() != 1);
+			assertTrue(queue.peekTime() >= last);
+			last = queue.peekTime();
+			queue.poll();
+		}
+	}
+
+	@Test
+	void limiterAllowsTheBurstThenHoldsLinesBack() {
+		// One token a minute: after the burst nothing refills within the test.
+		TokenBucket limiter = new TokenBucket(3, 1);
+		ChatQueue queue = new ChatQueue();
+		for (int i = 0; i < 5; i++) {
+			queue.push(0L, i, "line " + i);
+		}
+
+		int sent = 0;
+		while (queue.peekTime() <= 0L && limiter.tryAcquire()) {
+			queue.poll();
+			sent++;
+		}
+
+		assertEquals(3, sent);
+		assertEquals(2, queue.size());
+		assertEquals(3, queue.peekSpeaker());
+		assertFalse(limiter.tryAcquire());
+	}
+
+	@Test
+	void pausedLimiterHandsOutNothing() {
+		TokenBucket limiter = new TokenBucket(5, 600);
+		limiter.pauseFor(60_000L);
+
+		assertFalse(limiter.tryAcquire());
+	}
+
+	@Test
+	void limiterRefillsAtItsRate() throws InterruptedException {
+		// 6000 a minute is one token every 10 ms.
+		TokenBucket limiter = new TokenBucket(1, 6000);
+		assertTrue(limiter.tryAcquire());
+		assertFalse(limiter.tryAcquire());
+
+		long start = System.nanoTime();
+		limiter.acquire();
+		long waitedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+		assertTrue(waitedMillis >= 5, "waited " + waitedMillis + " ms");
+	}
+}
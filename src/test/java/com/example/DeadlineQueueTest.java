@@ -0,0 +1,86 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadlineQueueTest {
+	@Test
+	void pollsInTimeOrderAndUnpacksSlotAndKind() {
+		DeadlineQueue queue = new DeadlineQueue();
+		queue.push(300L, 7, 2);
+		queue.push(100L, 12345, 6);
+		queue.push(200L, 0, 0);
+
+		assertEquals(100L, queue.peekTime());
+		int payload = queue.poll();
+		assertEquals(12345, DeadlineQueue.slotOf(payload));
+		assertEquals(6, DeadlineQueue.kindOf(payload));
+		assertEquals(200L, queue.peekTime());
+		assertEquals(0, DeadlineQueue.slotOf(queue.poll()));
+		assertEquals(7, DeadlineQueue.slotOf(queue.poll()));
+		assertTrue(queue.isEmpty());
+		assertEquals(Long.MAX_VALUE, queue.peekTime());
+	}
+
+	@Test
+	void growsPastInitialCapacityAndMatchesSortedOrder() {
+		DeadlineQueue queue = new DeadlineQueue();
+		Random random = new Random(1);
+		List<long[]> pushed = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			long when = random.nextInt(100_000);
+			queue.push(when, i, i & 7);
+			pushed.add(new long[]{when, i});
+		}
+		pushed.sort(Comparator.comparingLong(entry -> entry[0]));
+
+		assertEquals(5000, queue.size());
+		for (long[] expected : pushed) {
+			assertEquals(expected[0], queue.peekTime());
+			queue.poll();
+		}
+		assertTrue(queue.isEmpty());
+	}
+
+	@Test
+	void removeKindsKeepsTheRestInOrder() {
+		DeadlineQueue queue = new DeadlineQueue();
+		Random random = new Random(2);
+		List<long[]> kept = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			long when = random.nextInt(10_000);
+			int kind = i % 7;
+			queue.push(when, i, kind);
+			if (kind != 5 && kind != 6) {
+				kept.add(new long[]{when, i});
+			}
+		}
+
+		queue.removeKinds(1 << 5 | 1 << 6);
+
+		assertEquals(kept.size(), queue.size());
+		kept.sort(Comparator.comparingLong(entry -> entry[0]));
+		for (long[] expected : kept) {
+			assertEquals(expected[0], queue.peekTime());
+			int kind = DeadlineQueue.kindOf(queue.poll());
+			assertTrue(kind != 5 && kind != 6);
+		}
+	}
+
+	@Test
+	void clearEmptiesTheQueue() {
+		DeadlineQueue queue = new DeadlineQueue();
+		queue.push(1L, 1, 1);
+		queue.clear();
+
+		assertTrue(queue.isEmpty());
+		assertEquals(Long.MAX_VALUE, queue.peekTime());
+	}
+}
@@ -0,0 +1,85 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiryWheelTest {
+	private static final long START = 1_700_000_000_000L;
+
+	@Test
+	void handsOutEntriesOnlyOnceTheyLapse() {
+		ExpiryWheel wheel = new ExpiryWheel();
+		wheel.advance(START, (key, at) -> {});
+		wheel.add("a", START + 1500L);
+		wheel.add("b", START + 1999L);
+		wheel.add("c", START + 5000L);
+
+		List<String> expired = new ArrayList<>();
+		wheel.advance(START + 1000L, (key, at) -> expired.add(key));
+		assertTrue(expired.isEmpty());
+
+		wheel.advance(START + 1600L, (key, at) -> expired.add(key));
+		assertEquals(List.of("a"), expired);
+
+		// "b" shares a bucket with "a" and stays until its own time has passed.
+		wheel.advance(START + 2000L, (key, at) -> expired.add(key));
+		assertEquals(List.of("a", "b"), expired);
+		assertEquals(1, wheel.size());
+	}
+
+	@Test
+	void expiriesBeyondOneTurnWaitForTheirTurn() {
+		ExpiryWheel wheel = new ExpiryWheel();
+		wheel.advance(START, (key, at) -> {});
+		// 512 one-second buckets: this lands in the current bucket but one turn later.
+		long later = START + 512_000L;
+		wheel.add("far", later);
+
+		List<String> expired = new ArrayList<>();
+		for (long now = START; now < later; now += 1000L) {
+			wheel.advance(now, (key, at) -> expired.add(key));
+		}
+		assertTrue(expired.isEmpty());
+
+		wheel.advance(later, (key, at) -> expired.add(key));
+		assertEquals(List.of("far"), expired);
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void longPauseStillDrainsEverything() {
+		ExpiryWheel wheel = new ExpiryWheel();
+		wheel.advance(START, (key, at) -> {});
+		Map<String, Long> added = new HashMap<>();
+		for (int i = 0; i < 2000; i++) {
+			long at = START + i * 777L;
+			wheel.add("k" + i, at);
+			added.put("k" + i, at);
+		}
+
+		Map<String, Long> expired = new HashMap<>();
+		wheel.advance(START + 3_600_000L, expired::put);
+
+		assertEquals(added, expired);
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void clearForgetsEntries() {
+		ExpiryWheel wheel = new ExpiryWheel();
+		wheel.add("a", START);
+		wheel.clear();
+
+		List<String> expired = new ArrayList<>();
+		wheel.advance(START + 10_000L, (key, at) -> expired.add(key));
+		assertTrue(expired.isEmpty());
+		assertEquals(0, wheel.size());
+	}
+}
@@ -0,0 +1,59 @@
+package com.example;
+
+import com.example.config.GeneratorConfig;
+import com.example.config.WindowDistributionConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeneratedPopulationTest {
+	@Test
+	void namesAreUniqueAcrossGenerators() {
+		GeneratedPopulation population = GeneratedPopulation.compile(List.of(
+			generator("a", 500, "{name}{digits}", "Alex", "Steve", "alex"),
+			generator("b", 300, "{name}{digits}", "Alex")
+		));
+
+		assertEquals(800, names(population).size());
+	}
+
+	@Test
+	void poolNamesThatShortenAlikeStillGetUniqueNames() {
+		GeneratedPopulation population = GeneratedPopulation.compile(List.of(
+			generator("long", 5000, "{name}_{digits}", "Christopher1", "Christopherr", "christopherX", "Max")
+		));
+
+		Set<String> names = names(population);
+		assertEquals(5000, names.size());
+		for (String name : names) {
+			assertTrue(name.length() <= 16, name);
+		}
+	}
+
+	private static Set<String> names(GeneratedPopulation population) {
+		Set<String> names = new HashSet<>();
+		for (int cohort = 0; cohort < population.cohortCount(); cohort++) {
+			for (int member = 0; member < population.cohortSize(cohort); member++) {
+				String name = population.bot(cohort, member).id().name();
+				assertTrue(names.add(name.toLowerCase(Locale.ROOT)), name);
+			}
+		}
+		return names;
+	}
+
+	private static GeneratorConfig generator(String id, int count, String template, String... pool) {
+		GeneratorConfig config = new GeneratorConfig();
+		config.id = id;
+		config.count = count;
+		config.nameTemplate = template;
+		config.namePool = List.of(pool);
+		config.windows = List.of(WindowDistributionConfig.of("00:00", "12:00", 30, 1));
+		return config;
+	}
+}
@@ -0,0 +1,112 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RosterLoaderTest {
+	private static final String WINDOW = "\"activeWindows\": [{\"startTime\": \"09:00\", \"endTime\": \"17:00\"}]";
+
+	@Test
+	void validBotsLoadWithoutErrors() throws IOException {
+		RosterLoader.Roster roster = read("{\"bots\": [{\"name\": \"Alex\", \"uuid\": \"00000000-0000-0000-0000-000000000001\", " + WINDOW + "}]}");
+
+		assertEquals(List.of(), roster.errors());
+		assertEquals(1, roster.size());
+		assertEquals("Alex", roster.bots().get(0).id().name());
+		assertTrue(roster.bots().get(0).windows().isActive(12 * 60));
+	}
+
+	@Test
+	void eachProblemIsReportedWithItsPath() throws IOException {
+		RosterLoader.Roster roster = read("{\"bots\": ["
+			+ "{\"uuid\": \"not-a-uuid\", \"name\": \"Alex\", " + WINDOW + "},"
+			+ "\"Steve\","
+			+ "{\"name\": \"Kai\", \"enabled\": \"yes\", " + WINDOW + "},"
+			+ "{\"name\": \"Ari\", \"activeWindows\": [{\"startTime\": \"9am\", \"endTime\": \"17:00\"}, 3]},"
+			+ "{" + WINDOW + "},"
+			+ "{\"name\": [1], " + WINDOW + "}"
+			+ "]}");
+
+		List<String> errors = roster.errors();
+		assertTrue(errors.contains("$.bots[0].uuid: invalid UUID not-a-uuid, using deterministic fallback"), errors::toString);
+		assertTrue(errors.contains("$.bots[1]: expected a bot object"), errors::toString);
+		assertTrue(errors.contains("$.bots[2].enabled: expected true or false"), errors::toString);
+		assertTrue(errors.contains("$.bots[3].activeWindows[0]: invalid window time 9am - 17:00"), errors::toString);
+		assertTrue(errors.contains("$.bots[3].activeWindows[1]: expected a window object"), errors::toString);
+		assertTrue(errors.contains("$.bots[4].name: missing, bot disabled"), errors::toString);
+		assertTrue(errors.contains("$.bots[5].name: expected a string"), errors::toString);
+		// Bad values fall back rather than dropping the bot; bots without a usable window or name are left out.
+		assertEquals(List.of("Alex", "Kai"), roster.bots().stream().map(bot -> bot.id().name()).toList());
+		assertEquals(UUID.nameUUIDFromBytes("fakebot:Alex".getBytes(StandardCharsets.UTF_8)), roster.bots().get(0).id().id());
+	}
+
+	@Test
+	void duplicateUuidKeepsTheFirstDefinition() throws IOException {
+		String uuid = "\"uuid\": \"00000000-0000-0000-0000-000000000002\", ";
+		RosterLoader.Roster roster = read("{\"bots\": ["
+			+ "{\"name\": \"First\", " + uuid + WINDOW + "},"
+			+ "{\"name\": \"Second\", " + uuid + WINDOW + "}"
+			+ "]}");
+
+		assertEquals(List.of("$.bots[1]: duplicate UUID 00000000-0000-0000-0000-000000000002, keeping the first definition"), roster.errors());
+		assertEquals(1, roster.size());
+		assertEquals("First", roster.bots().get(0).id().name());
+	}
+
+	@Test
+	void errorsKeepTheirIndexAcrossChunks() throws IOException {
+		StringBuilder json = new StringBuilder("{\"bots\": [");
+		int count = 5000;
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			String start = i == count - 1 ? "25:00" : "09:00";
+			json.append("{\"name\": \"Bot").append(i).append("\", \"activeWindows\": [{\"startTime\": \"").append(start).append("\", \"endTime\": \"17:00\"}]}");
+		}
+		RosterLoader.Roster roster = read(json.append("]}").toString());
+
+		assertEquals(List.of("$.bots[" + (count - 1) + "].activeWindows[0]: invalid window time 25:00 - 17:00"), roster.errors());
+		assertEquals(count - 1, roster.size());
+	}
+
+	@Test
+	void disabledBotsAreSkippedQuietly() throws IOException {
+		RosterLoader.Roster roster = read("{\"bots\": [{\"enabled\": false}, {\"name\": \"Off\", \"enabled\": false, " + WINDOW + "}]}");
+
+		assertEquals(List.of(), roster.errors());
+		assertEquals(0, roster.size());
+	}
+
+	@Test
+	void handEditedConfigsParseLeniently() throws IOException {
+		RosterLoader.Roster roster = read("{\n"
+			+ "  // comments and unquoted or single-quoted keys, as Gson.fromJson has always accepted\n"
+			+ "  global: {watchConfigFile: true},\n"
+			+ "  'bots': [{name: 'Alex', activeWindows: [{startTime: '09:00', endTime: '17:00'}]}]\n"
+			+ "}");
+
+		assertEquals(List.of(), roster.errors());
+		assertEquals(1, roster.size());
+		assertEquals("Alex", roster.bots().get(0).id().name());
+		assertTrue(roster.global().watchConfigFile);
+	}
+
+	@Test
+	void malformedDocumentThrows() {
+		assertThrows(IOException.class, () -> read("{\"bots\": [{\"name\": \"Alex\""));
+	}
+
+	private static RosterLoader.Roster read(String json) throws IOException {
+		return RosterLoader.read(new StringReader(json));
+	}
+}
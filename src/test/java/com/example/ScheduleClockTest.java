@@ -0,0 +1,70 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ScheduleClockTest {
+	private static final ZoneId EASTERN = ZoneId.of("America/New_York");
+
+	@Test
+	void minuteOfDayFollowsTheLocalClock() {
+		ScheduleClock clock = clockAt("2026-07-01T12:00:00Z");
+
+		// EDT is UTC-4.
+		assertEquals(8 * 60, clock.minuteOfDay(millis("2026-07-01T12:00:30Z")));
+		assertEquals(millis("2026-07-01T12:00:00Z"), clock.startOfMinute(millis("2026-07-01T12:00:59.999Z")));
+	}
+
+	@Test
+	void plainDayAddsElapsedMinutes() {
+		ScheduleClock clock = clockAt("2026-07-01T04:30:00Z");
+		long now = millis("2026-07-01T04:30:20Z");
+
+		assertEquals(millis("2026-07-01T13:00:00Z"), clock.plusMinutesFromMinuteStart(now, 510));
+	}
+
+	@Test
+	void windowEndAcrossSpringForwardIsLocalWallClock() {
+		// 2026-03-08: clocks jump from 02:00 EST to 03:00 EDT. 00:30 + 510 minutes is 09:00 local, only 7.5 h later.
+		ScheduleClock clock = clockAt("2026-03-08T05:30:00Z");
+		long end = clock.plusMinutesFromMinuteStart(millis("2026-03-08T05:30:00Z"), 510);
+
+		assertEquals(millis("2026-03-08T13:00:00Z"), end);
+		assertEquals(LocalDateTime.parse("2026-03-08T09:00"), clock.toLocal(end));
+	}
+
+	@Test
+	void windowEndAcrossFallBackIsLocalWallClock() {
+		// 2026-11-01: clocks fall back from 02:00 EDT to 01:00 EST. 00:30 + 510 minutes is 09:00 local, 9.5 h later.
+		ScheduleClock clock = clockAt("2026-11-01T04:30:00Z");
+		long end = clock.plusMinutesFromMinuteStart(millis("2026-11-01T04:30:00Z"), 510);
+
+		assertEquals(millis("2026-11-01T14:00:00Z"), end);
+		assertEquals(LocalDateTime.parse("2026-11-01T09:00"), clock.toLocal(end));
+	}
+
+	@Test
+	void skippedAndRepeatedTimesResolveLikeZonedDateTime() {
+		ScheduleClock spring = clockAt("2026-03-08T05:30:00Z");
+		// 02:30 does not exist on the spring changeover day and moves forward to 03:30 EDT.
+		assertEquals(millis("2026-03-08T07:30:00Z"), spring.plusMinutesFromMinuteStart(millis("2026-03-08T05:30:00Z"), 120));
+
+		ScheduleClock autumn = clockAt("2026-11-01T04:30:00Z");
+		// 01:30 happens twice on the autumn changeover day; the first (EDT) one is used.
+		assertEquals(millis("2026-11-01T05:30:00Z"), autumn.plusMinutesFromMinuteStart(millis("2026-11-01T04:30:00Z"), 60));
+	}
+
+	private static ScheduleClock clockAt(String instant) {
+		return new ScheduleClock(Clock.fixed(Instant.parse(instant), EASTERN));
+	}
+
+	private static long millis(String instant) {
+		return Instant.parse(instant).toEpochMilli();
+	}
+}
@@ -0,0 +1,149 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SilentBanStoreTest {
+	private static final long HOUR = 3_600_000L;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void loadReplaysTheJournalOverTheBaseAndCutsATornTail() throws IOException {
+		long now = System.currentTimeMillis();
+		Files.writeString(base(), "alice\nbob\t" + (now + HOUR) + "\nold\t" + (now - HOUR) + "\n", StandardCharsets.UTF_8);
+		String complete = "+carol\n-alice\n+dave\t" + (now + HOUR) + "\n+erin\n-erin\n";
+		Files.writeString(journal(), complete + "+fra", StandardCharsets.UTF_8);
+
+		SilentBanStore store = open();
+
+		assertFalse(store.contains("alice"));
+		assertTrue(store.contains("bob"));
+		assertEquals(now + HOUR, store.expiryOf("bob"));
+		assertFalse(store.contains("old"));
+		assertTrue(store.contains("carol"));
+		assertTrue(store.contains("dave"));
+		assertEquals(now + HOUR, store.expiryOf("dave"));
+		assertFalse(store.contains("erin"));
+		assertFalse(store.contains("fra"));
+		assertEquals(complete.length(), Files.size(journal()));
+		store.close();
+	}
+
+	@Test
+	void changesSurviveAReloadWithoutACleanClose() throws IOException {
+		long expiresAt = System.currentTimeMillis() + HOUR;
+		SilentBanStore first = open();
+		first.add("alice");
+		first.add("bob", expiresAt);
+		first.addAll(List.of("carol", "dave"));
+		first.remove("carol");
+
+		// The first store is never closed, as after a crash: only its journal holds these changes.
+		SilentBanStore second = open();
+
+		assertTrue(second.contains("alice"));
+		assertTrue(second.contains("bob"));
+		assertEquals(expiresAt, second.expiryOf("bob"));
+		assertFalse(second.contains("carol"));
+		assertTrue(second.contains("dave"));
+		assertEquals(3, second.size());
+		first.close();
+		second.close();
+	}
+
+	@Test
+	void closeFoldsTheJournalIntoTheBase() throws IOException {
+		SilentBanStore store = open();
+		store.addAll(List.of("bob", "alice"));
+		store.close();
+
+		assertEquals(0L, Files.size(journal()));
+		assertEquals(List.of("alice", "bob"), Files.readAllLines(base(), StandardCharsets.UTF_8));
+		SilentBanStore reopened = open();
+		assertTrue(reopened.contains("alice"));
+		assertEquals(2, reopened.size());
+		reopened.close();
+	}
+
+	@Test
+	void journalIsCompactedOnceItOutgrowsTheSet() throws Exception {
+		SilentBanStore store = open();
+		store.addAll(List.of("keep1", "keep2"));
+		for (int i = 0; i < 200; i++) {
+			store.add("churn");
+			store.remove("churn");
+		}
+		store.add("last");
+
+		// Compaction runs on a background thread; the journal shrinks to what was appended after its snapshot.
+		long uncompacted = "+keep1\n+keep2\n".length() + 200 * "+churn\n-churn\n".length() + "+last\n".length();
+		long deadline = System.nanoTime() + 10_000_000_000L;
+		while (!Files.exists(base()) || Files.size(journal()) >= uncompacted) {
+			assertTrue(System.nanoTime() < deadline, "journal was not compacted");
+			Thread.sleep(10L);
+		}
+
+		SilentBanStore reopened = open();
+		assertTrue(reopened.contains("keep1"));
+		assertTrue(reopened.contains("keep2"));
+		assertTrue(reopened.contains("last"));
+		assertFalse(reopened.contains("churn"));
+		assertEquals(3, reopened.size());
+		store.close();
+		reopened.close();
+	}
+
+	@Test
+	void sweepDropsLapsedBansForGood() throws IOException {
+		long now = System.currentTimeMillis();
+		SilentBanStore store = open();
+		store.add("temp", now + HOUR);
+		store.add("perm");
+
+		store.sweepExpired(now + 2 * HOUR);
+
+		assertFalse(store.contains("temp"));
+		assertEquals(1, store.size());
+		SilentBanStore reopened = open();
+		assertFalse(reopened.contains("temp"));
+		assertTrue(reopened.contains("perm"));
+		store.close();
+		reopened.close();
+	}
+
+	@Test
+	void temporaryBanCannotReplaceAPermanentOne() throws IOException {
+		SilentBanStore store = open();
+		store.add("alice");
+
+		assertFalse(store.add("alice", System.currentTimeMillis() + HOUR));
+		assertEquals(Long.MAX_VALUE, store.expiryOf("alice"));
+		store.close();
+	}
+
+	private SilentBanStore open() {
+		SilentBanStore store = new SilentBanStore(base(), journal());
+		store.load();
+		return store;
+	}
+
+	private Path base() {
+		return dir.resolve("silent-bans.txt");
+	}
+
+	private Path journal() {
+		return dir.resolve("silent-bans.journal");
+	}
+}
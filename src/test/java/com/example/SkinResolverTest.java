@@ -0,0 +1,152 @@
+package com.example;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the resolver against a stand-in session server on the loopback interface.
+ */
+class SkinResolverTest {
+	private static final UUID STEVE = UUID.fromString("8667ba71-b85a-4004-af54-457a9734eed7");
+	private static final UUID UNKNOWN = UUID.fromString("00000000-0000-0000-0000-000000000404");
+	private static final UUID BROKEN = UUID.fromString("00000000-0000-0000-0000-000000000500");
+	private static final UUID GARBLED = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+	@TempDir
+	Path dir;
+
+	private HttpServer server;
+	private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+	private volatile CountDownLatch release = new CountDownLatch(0);
+	private SkinCache cache;
+	private SkinResolver resolver;
+
+	@BeforeEach
+	void start() throws IOException {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/session/minecraft/profile/", this::handle);
+		server.start();
+		cache = SkinCache.open(dir.resolve("skins.bin"));
+		resolver = new SkinResolver("http://127.0.0.1:" + server.getAddress().getPort() + "/", 4, cache);
+	}
+
+	@AfterEach
+	void stop() {
+		resolver.close();
+		cache.close();
+		server.stop(0);
+	}
+
+	@Test
+	void fetchesSignedTexturesAndCachesThem() throws Exception {
+		SkinTextures textures = resolver.resolve(STEVE).get(10, TimeUnit.SECONDS);
+
+		assertEquals(new SkinTextures("value-" + plain(STEVE), "signature-" + plain(STEVE)), textures);
+		assertEquals(textures, resolver.cached(STEVE));
+		assertEquals(textures, resolver.resolve(STEVE).get(10, TimeUnit.SECONDS));
+		assertEquals(1, requestsFor(STEVE));
+	}
+
+	@Test
+	void concurrentLookupsShareOneRequest() throws Exception {
+		release = new CountDownLatch(1);
+		CompletableFuture<SkinTextures> first = resolver.resolve(STEVE);
+		CompletableFuture<SkinTextures> second = resolver.resolve(STEVE);
+		release.countDown();
+
+		assertSame(first, second);
+		assertEquals(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+		assertEquals(1, requestsFor(STEVE));
+	}
+
+	@Test
+	void missesAndFailuresAreRememberedInsteadOfRetried() throws Exception {
+		for (UUID skin : new UUID[]{UNKNOWN, BROKEN, GARBLED}) {
+			assertNull(resolver.resolve(skin).get(10, TimeUnit.SECONDS));
+			assertNull(resolver.resolve(skin).get(10, TimeUnit.SECONDS));
+			assertEquals(1, requestsFor(skin), skin::toString);
+		}
+	}
+
+	@Test
+	void entryNearExpiryIsServedAndRefreshedInTheBackground() throws Exception {
+		SkinTextures stale = new SkinTextures("old", "old");
+		cache.put(STEVE, stale, System.currentTimeMillis() - SkinCache.TTL_MILLIS);
+
+		assertEquals(stale, resolver.cached(STEVE));
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (stale.equals(cache.get(STEVE).textures())) {
+			assertTrue(System.nanoTime() < deadline, "cache entry was not refreshed");
+			Thread.sleep(10L);
+		}
+		assertEquals("value-" + plain(STEVE), cache.get(STEVE).textures().value());
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		String path = exchange.getRequestURI().getPath();
+		String id = path.substring(path.lastIndexOf('/') + 1);
+		requests.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+		try {
+			release.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (id.equals(plain(UNKNOWN))) {
+			exchange.sendResponseHeaders(204, -1);
+			exchange.close();
+			return;
+		}
+		if (id.equals(plain(BROKEN))) {
+			respond(exchange, 500, "{}");
+			return;
+		}
+		if (id.equals(plain(GARBLED))) {
+			respond(exchange, 200, "<html>");
+			return;
+		}
+		respond(exchange, 200, "{\"id\":\"" + id + "\",\"name\":\"Steve\",\"properties\":[{\"name\":\"textures\",\"value\":\"value-"
+			+ id + "\",\"signature\":\"signature-" + id + "\"}]}");
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private int requestsFor(UUID skin) {
+		AtomicInteger count = requests.get(plain(skin));
+		return count == null ? 0 : count.get();
+	}
+
+	private static String plain(UUID uuid) {
+		return uuid.toString().replace("-", "");
+	}
+}
@@ -0,0 +1,85 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SortedNameSetTest {
+	@Test
+	void mergeAddsAndRemovesInOnePass() {
+		SortedNameSet set = SortedNameSet.of(List.of("bob", "alice", "dave"));
+
+		SortedNameSet merged = set.merge(List.of("carol", "alice", "erin"), List.of("bob", "zed"));
+
+		assertEquals(List.of("alice", "carol", "dave", "erin"), toList(merged));
+		assertTrue(merged.contains("carol"));
+		assertFalse(merged.contains("bob"));
+		// The original is untouched.
+		assertEquals(List.of("alice", "bob", "dave"), toList(set));
+	}
+
+	@Test
+	void mergeMatchesATreeSet() {
+		Random random = new Random(3);
+		Set<String> reference = new TreeSet<>();
+		SortedNameSet set = SortedNameSet.EMPTY;
+		for (int round = 0; round < 20; round++) {
+			List<String> added = new ArrayList<>();
+			List<String> removed = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				added.add("player" + random.nextInt(2000));
+				removed.add("player" + random.nextInt(2000));
+			}
+			removed.removeAll(added);
+			set = set.merge(added, removed);
+			reference.addAll(added);
+			reference.removeAll(removed);
+
+			assertEquals(new ArrayList<>(reference), toList(set));
+		}
+	}
+
+	@Test
+	void ordersByUnsignedBytesAndDropsDuplicates() {
+		SortedNameSet set = SortedNameSet.of(List.of("\u00e9", "z", "Z", "z", "a"));
+
+		// UTF-8 lead bytes above 0x7f sort after ASCII.
+		assertEquals(List.of("Z", "a", "z", "\u00e9"), toList(set));
+		assertTrue(set.contains("\u00e9"));
+	}
+
+	@Test
+	void mergingEverythingAwayGivesTheEmptySet() {
+		SortedNameSet set = SortedNameSet.of(List.of("a", "b"));
+
+		assertSame(SortedNameSet.EMPTY, set.merge(List.of(), List.of("a", "b")));
+	}
+
+	@Test
+	void collectPrefixStopsAtLimitAndScanLimit() {
+		SortedNameSet set = SortedNameSet.of(List.of("ab1", "ab2", "ab3", "abc", "b"));
+
+		List<String> limited = new ArrayList<>();
+		set.collectPrefix("ab", 2, 100, name -> true, limited);
+		assertEquals(List.of("ab1", "ab2"), limited);
+
+		List<String> scanned = new ArrayList<>();
+		set.collectPrefix("ab", 10, 3, name -> name.endsWith("c"), scanned);
+		assertEquals(List.of(), scanned);
+	}
+
+	private static List<String> toList(SortedNameSet set) {
+		List<String> names = new ArrayList<>();
+		set.forEach(names::add);
+		return names;
+	}
+}